@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the index of the stories of every JUnit 5 story class into the test output directory, so the engine
+ * discovers the stories without parsing them. The classes of the engine are taken from the test classpath
+ * of the project, the index is built by the same version of the engine which reads it.
+ */
+@Mojo(name = "index", defaultPhase = LifecyclePhase.PROCESS_TEST_CLASSES, requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true)
+public class StoryIndexMojo extends AbstractMojo {
+
+    private static final String STORIES_CLASS = "org.jbehavesupport.engine.JUnit5Stories";
+    private static final String STORY_INDEX_CLASS = "org.jbehavesupport.engine.descriptor.StoryIndex";
+
+    @Parameter(defaultValue = "${project.build.testOutputDirectory}", readonly = true)
+    private File testOutputDirectory;
+
+    @Parameter(defaultValue = "${project.testClasspathElements}", readonly = true)
+    private List<String> testClasspathElements;
+
+    /**
+     * Report level of the engine the index is built for, the index is not used at other levels.
+     */
+    @Parameter(property = "jbehave.report.level", defaultValue = "STEP")
+    private String reportLevel;
+
+    @Parameter(property = "jbehave.index.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip || !testOutputDirectory.isDirectory()) {
+            getLog().info("Story index skipped");
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(classpath(), ClassLoader.getSystemClassLoader().getParent())) {
+            thread.setContextClassLoader(classLoader);
+            List<String> storyClasses = storyClasses(classLoader);
+            if (storyClasses.isEmpty()) {
+                getLog().info("No story classes to index");
+                return;
+            }
+            List<String> arguments = new ArrayList<>();
+            arguments.add(testOutputDirectory.getAbsolutePath());
+            arguments.add(reportLevel);
+            arguments.addAll(storyClasses);
+            Method main = classLoader.loadClass(STORY_INDEX_CLASS).getMethod("main", String[].class);
+            main.invoke(null, (Object) arguments.toArray(new String[0]));
+            getLog().info("Story index written for " + storyClasses.size() + " classes");
+        } catch (InvocationTargetException e) {
+            throw new MojoExecutionException("Story index can not be written", e.getCause());
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new MojoExecutionException("Story index can not be written", e);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private URL[] classpath() throws MalformedURLException {
+        URL[] urls = new URL[testClasspathElements.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = new File(testClasspathElements.get(i)).toURI().toURL();
+        }
+        return urls;
+    }
+
+    /**
+     * @return names of the concrete story classes in the test output directory
+     */
+    private List<String> storyClasses(ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        Class<?> storiesClass = classLoader.loadClass(STORIES_CLASS);
+        Path root = testOutputDirectory.toPath();
+        List<String> classNames;
+        try (Stream<Path> paths = Files.walk(root)) {
+            classNames = paths.map(path -> root.relativize(path).toString())
+                .filter(path -> path.endsWith(".class") && !path.contains("$"))
+                .map(path -> path.substring(0, path.length() - ".class".length()).replace(File.separatorChar, '.'))
+                .collect(Collectors.toList());
+        }
+        List<String> storyClasses = new ArrayList<>();
+        for (String className : classNames) {
+            Class<?> type = classLoader.loadClass(className);
+            if (storiesClass.isAssignableFrom(type) && !type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+                storyClasses.add(className);
+            }
+        }
+        return storyClasses;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.maven
+
+import org.jbehavesupport.engine.descriptor.StoryIndex
+import org.jbehavesupport.engine.reporter.ReportLevel
+import org.jbehavesupport.maven.story.IndexedStories
+import org.junit.platform.engine.UniqueId
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class StoryIndexMojoTest extends Specification {
+
+    Path testOutputDirectory = Paths.get(IndexedStories.protectionDomain.codeSource.location.toURI())
+    Path index = testOutputDirectory.resolve("META-INF/jbehave/" + IndexedStories.name + ".index")
+
+    def cleanup() {
+        Files.deleteIfExists(index)
+    }
+
+    def "Test index is written for the story classes of the test output directory"() {
+        given:
+        def mojo = mojo(false)
+
+        when:
+        mojo.execute()
+
+        then:
+        def instance = new IndexedStories()
+        def parentId = UniqueId.forEngine("jbehave").append("class", IndexedStories.canonicalName)
+        StoryIndex.load(IndexedStories, instance.configuredEmbedder(), instance.storyPaths(), ReportLevel.STEP, parentId).present
+    }
+
+    def "Test index is not written when skipped"() {
+        given:
+        def mojo = mojo(true)
+
+        when:
+        mojo.execute()
+
+        then:
+        !Files.exists(index)
+    }
+
+    private StoryIndexMojo mojo(boolean skip) {
+        def mojo = new StoryIndexMojo()
+        mojo.testOutputDirectory = testOutputDirectory.toFile()
+        // the classpath of this test contains the engine and the test classes, as the test classpath of a project would
+        mojo.testClasspathElements = System.getProperty("java.class.path").split(File.pathSeparator) as List
+        mojo.reportLevel = "STEP"
+        mojo.skip = skip
+        mojo
+    }
+}
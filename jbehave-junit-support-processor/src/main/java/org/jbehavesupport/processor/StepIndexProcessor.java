@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.processor;
+
+import org.jbehave.core.steps.StepType;
+import org.jbehavesupport.core.StepCandidateIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the {@link StepCandidateIndex} of every class declaring a step method. The index lists the public step methods
+ * of the class including the inherited ones, in the order of {@link javax.lang.model.util.Elements#getAllMembers}.
+ */
+@SupportedAnnotationTypes({
+    StepIndexProcessor.GIVEN,
+    StepIndexProcessor.WHEN,
+    StepIndexProcessor.THEN,
+    StepIndexProcessor.ALIAS,
+    StepIndexProcessor.ALIASES,
+    StepIndexProcessor.COMPOSITE
+})
+public class StepIndexProcessor extends AbstractProcessor {
+
+    static final String GIVEN = "org.jbehave.core.annotations.Given";
+    static final String WHEN = "org.jbehave.core.annotations.When";
+    static final String THEN = "org.jbehave.core.annotations.Then";
+    static final String ALIAS = "org.jbehave.core.annotations.Alias";
+    static final String ALIASES = "org.jbehave.core.annotations.Aliases";
+    static final String COMPOSITE = "org.jbehave.core.annotations.Composite";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> stepsTypes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                stepsTypes.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+        stepsTypes.forEach(this::writeIndex);
+        return false;
+    }
+
+    private void writeIndex(TypeElement stepsType) {
+        String typeName = processingEnv.getElementUtils().getBinaryName(stepsType).toString();
+        List<StepCandidateIndex.Entry> entries = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(stepsType))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC)) {
+                addEntry(entries, method, StepType.GIVEN, GIVEN);
+                addEntry(entries, method, StepType.WHEN, WHEN);
+                addEntry(entries, method, StepType.THEN, THEN);
+            }
+        }
+        try (OutputStream outputStream = processingEnv.getFiler()
+            .createResource(StandardLocation.CLASS_OUTPUT, "", StepCandidateIndex.resourceName(typeName), stepsType)
+            .openOutputStream()) {
+            StepCandidateIndex.write(entries, outputStream);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Step index of " + typeName + " can not be written: " + e.getMessage(), stepsType);
+        }
+    }
+
+    private void addEntry(List<StepCandidateIndex.Entry> entries, ExecutableElement method, StepType stepType, String annotation) {
+        Optional<Map<? extends ExecutableElement, ? extends AnnotationValue>> values = annotationValues(method, annotation);
+        if (!values.isPresent()) {
+            return;
+        }
+        List<String> patterns = new ArrayList<>();
+        patterns.add((String) value(values.get(), "value"));
+        annotationValues(method, ALIASES).ifPresent(aliases -> patterns.addAll(strings(value(aliases, "values"))));
+        annotationValues(method, ALIAS).ifPresent(alias -> patterns.add((String) value(alias, "value")));
+        Optional<Map<? extends ExecutableElement, ? extends AnnotationValue>> composite = annotationValues(method, COMPOSITE);
+        List<String> parameterTypes = method.getParameters().stream()
+            .map(VariableElement::asType)
+            .map(this::className)
+            .collect(Collectors.toList());
+        entries.add(new StepCandidateIndex.Entry(stepType, (Integer) value(values.get(), "priority"),
+            method.getSimpleName().toString(), parameterTypes, patterns, composite.isPresent(),
+            composite.map(steps -> strings(value(steps, "steps"))).orElse(Collections.emptyList())));
+    }
+
+    private Optional<Map<? extends ExecutableElement, ? extends AnnotationValue>> annotationValues(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotation)) {
+                return Optional.of(processingEnv.getElementUtils().getElementValuesWithDefaults(mirror));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Object value(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+        return values.entrySet().stream()
+            .filter(entry -> entry.getKey().getSimpleName().contentEquals(name))
+            .map(entry -> entry.getValue().getValue())
+            .findFirst()
+            .orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> strings(Object values) {
+        return ((List<? extends AnnotationValue>) values).stream()
+            .map(value -> (String) value.getValue())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return name of the erasure of the type as returned by {@link Class#getName()}
+     */
+    private String className(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind().isPrimitive()) {
+            return erasure.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return "[" + descriptor(((ArrayType) erasure).getComponentType());
+        }
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erasure).asElement()).toString();
+    }
+
+    private String descriptor(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case CHAR:
+                return "C";
+            case SHORT:
+                return "S";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case ARRAY:
+                return "[" + descriptor(((ArrayType) type).getComponentType());
+            default:
+                return "L" + className(type) + ";";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.processor
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import org.jbehave.core.steps.StepType
+import org.jbehavesupport.core.StepCandidateIndex
+import spock.lang.Specification
+
+import javax.tools.JavaFileObject
+import javax.tools.StandardLocation
+
+import static com.google.testing.compile.Compiler.javac
+
+class StepIndexProcessorTest extends Specification {
+
+    def "Test index lists the step methods of the class"() {
+        when:
+        def compilation = compile(JavaFileObjects.forSourceLines("steps.LoginSteps",
+            "package steps;",
+            "import org.jbehave.core.annotations.*;",
+            "public class LoginSteps {",
+            "    @Given(value = \"user \$name\", priority = 2)",
+            "    @Aliases(values = {\"account \$name\"})",
+            "    public void user(String name, int[] ids) {}",
+            "    @When(\"user signs in\")",
+            "    @Composite(steps = {\"Given user Tester\", \"When user signs in\"})",
+            "    public void signIn() {}",
+            "    @Then(\"user is signed in\")",
+            "    void notPublic() {}",
+            "}"))
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        def entries = index(compilation, "steps.LoginSteps")
+        entries.collect { [it.stepType, it.priority, it.methodName, it.parameterTypes, it.patterns, it.composite, it.composedSteps] } == [
+            [StepType.GIVEN, 2, "user", ["java.lang.String", "[I"], ["user \$name", "account \$name"], false, []],
+            [StepType.WHEN, 0, "signIn", [], ["user signs in"], true, ["Given user Tester", "When user signs in"]]
+        ]
+    }
+
+    def "Test index of a subclass lists the inherited step methods"() {
+        when:
+        def compilation = compile(
+            JavaFileObjects.forSourceLines("steps.BaseSteps",
+                "package steps;",
+                "import org.jbehave.core.annotations.*;",
+                "public class BaseSteps {",
+                "    @Given(\"base step\")",
+                "    public void baseStep() {}",
+                "}"),
+            JavaFileObjects.forSourceLines("steps.NestedSteps",
+                "package steps;",
+                "import org.jbehave.core.annotations.*;",
+                "public class NestedSteps extends BaseSteps {",
+                "    public static class Inner {",
+                "        @Then(\"inner step\")",
+                "        public void innerStep() {}",
+                "    }",
+                "    @When(\"own step\")",
+                "    public void ownStep() {}",
+                "}"))
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        index(compilation, "steps.NestedSteps")*.methodName as Set == ["ownStep", "baseStep"] as Set
+        index(compilation, "steps.NestedSteps\$Inner")*.methodName == ["innerStep"]
+    }
+
+    private static Compilation compile(JavaFileObject... sources) {
+        javac().withProcessors(new StepIndexProcessor()).compile(sources)
+    }
+
+    private static List<StepCandidateIndex.Entry> index(Compilation compilation, String typeName) {
+        def resource = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, "", StepCandidateIndex.resourceName(typeName))
+        assert resource.present
+        resource.get().openInputStream().withCloseable { StepCandidateIndex.read(it).get() }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import org.jbehave.core.ConfigurableEmbedder;
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.embedder.AllStepCandidates;
+import org.jbehave.core.embedder.Embedder;
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.failures.BatchFailures;
+import org.jbehave.core.junit.JUnitStory;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.NullStepMonitor;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Discovery steps shared by the JUnit 4 runner and the JUnit 5 engine.
+ */
+public class EmbedderSupport {
+
+    private static final String STORY_PATHS = "storyPaths";
+
+    private EmbedderSupport() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void setupNullStepMonitor(Embedder embedder) {
+        NullStepMonitor stepMonitor = new NullStepMonitor();
+        embedder.configuration().useStepMonitor(stepMonitor);
+    }
+
+    public static PerformableTree createPerformableTree(Embedder configuredEmbedder, List<String> storyPaths) {
+        return createPerformableTree(configuredEmbedder, storyPaths, false);
+    }
+
+    /**
+     * @param parallelStories the stories are loaded and parsed in parallel, their order is kept
+     */
+    public static PerformableTree createPerformableTree(Embedder configuredEmbedder, List<String> storyPaths, boolean parallelStories) {
+        BatchFailures failures = new BatchFailures(configuredEmbedder.embedderControls().verboseFailures());
+        PerformableTree performableTree = new PerformableTree();
+        PerformableTree.RunContext context = performableTree.newRunContext(configuredEmbedder.configuration(),
+            new AllStepCandidates(configuredEmbedder.stepsFactory().createCandidateSteps()),
+            configuredEmbedder.embedderMonitor(),
+            configuredEmbedder.metaFilter(), failures);
+
+        List<Story> stories = (parallelStories ? storyPaths.parallelStream() : storyPaths.stream())
+            .map(storyPath -> performableTree.storyOfPath(configuredEmbedder.configuration(), storyPath))
+            .collect(Collectors.toList());
+        performableTree.addStories(context, stories);
+
+        return performableTree;
+    }
+
+    /**
+     * Name of the story as set by the story parser, available without loading the story.
+     */
+    public static String getStoryName(String storyPath) {
+        return new File(storyPath).getName();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<String> getStoryPaths(ConfigurableEmbedder configurableEmbedder)
+        throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
+
+        List<String> stories;
+        if (configurableEmbedder instanceof JUnitStory) {
+            Configuration configuration = configurableEmbedder.configuredEmbedder().configuration();
+            String story = configuration.storyPathResolver().resolve(configurableEmbedder.getClass());
+            stories = Collections.singletonList(story);
+        } else {
+            Method method = lookupStoryPathsMethod(configurableEmbedder.getClass());
+            method.setAccessible(true);
+            stories = ((List<String>) method.invoke(configurableEmbedder, (Object[]) null));
+        }
+
+        return stories;
+    }
+
+    private static Method lookupStoryPathsMethod(Class<? extends ConfigurableEmbedder> testClass)
+        throws NoSuchMethodException {
+
+        Method method;
+        try {
+            method = storyPathsLookup(testClass);
+        } catch (NoSuchMethodException e) {
+            method = testClass.getMethod(STORY_PATHS, (Class<?>[]) null);
+        }
+        return method;
+    }
+
+    private static Method storyPathsLookup(Class<?> clazz) throws NoSuchMethodException {
+        while (clazz != null) {
+            Method[] methods = clazz.getDeclaredMethods();
+            for (Method method : methods) {
+                // Test any other things about it beyond the name...
+                if (method.getName().equals(STORY_PATHS)) {
+                    return method;
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+        throw new NoSuchMethodException("Can not find method: " + STORY_PATHS);
+    }
+}
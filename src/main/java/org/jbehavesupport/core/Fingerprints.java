@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * SHA-256 fingerprints of texts and classes, used to find out whether stories or steps changed between runs.
+ */
+public final class Fingerprints {
+
+    private Fingerprints() {
+        throw new UnsupportedOperationException();
+    }
+
+    @SneakyThrows(NoSuchAlgorithmException.class)
+    public static MessageDigest newDigest() {
+        return MessageDigest.getInstance("SHA-256");
+    }
+
+    public static String of(String text) {
+        return toHex(newDigest().digest(text.getBytes(UTF_8)));
+    }
+
+    /**
+     * @return fingerprint of the bytecode of the type and its superclasses
+     */
+    public static String of(Class<?> type) {
+        MessageDigest digest = newDigest();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            digest.update(current.getName().getBytes(UTF_8));
+            digest.update(bytecode(current));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return bytecode of the type, empty when the class file is not available
+     */
+    @SneakyThrows(IOException.class)
+    public static byte[] bytecode(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader() != null ? type.getClassLoader() : ClassLoader.getSystemClassLoader();
+        try (InputStream inputStream = classLoader.getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+            if (inputStream == null) {
+                return new byte[0];
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
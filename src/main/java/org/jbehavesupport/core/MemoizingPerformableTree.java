@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.embedder.AllStepCandidates;
+import org.jbehave.core.embedder.EmbedderMonitor;
+import org.jbehave.core.embedder.FilteredStory;
+import org.jbehave.core.embedder.MetaFilter;
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.failures.BatchFailures;
+import org.jbehave.core.model.Meta;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.StepCollector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performable tree which performs a given story marked by the meta {@code @memoize} only by its first reference.
+ * The later references are replaced by the same story without scenarios, which is recognized by {@link #isReused(Story)}.
+ * The given story is performed once per run, with {@code @memoize story} once per story.
+ * The stories are built in the order they are performed, so the first reference built is the first one performed.
+ * The stories performed in parallel memoize the given stories once per story only, as another story may still
+ * be performing the given story when it is reused.
+ * <p>
+ * The scenarios marked by the meta {@code @parallelExamples} perform their examples in parallel,
+ * see {@link ParallelExamplesPerformableScenario}. They share one pool of threads created when it is first needed
+ * and shut down after the AfterStories steps of the run. The stories declaring a {@code @resourceLock} are performed
+ * holding the {@link ResourceLocks} of the story and its scenarios.
+ */
+public class MemoizingPerformableTree extends PerformableTree {
+
+    public static final String MEMOIZE_META = "memoize";
+    public static final String STORY_SCOPE = "story";
+
+    private final Set<String> performedInRun = new HashSet<>();
+    private final Set<String> performedInStory = new HashSet<>();
+    private boolean addingStories;
+    private boolean parallelStories;
+    private ExecutorService examplesExecutor;
+
+    public static boolean isReused(Story story) {
+        return story instanceof ReusedStory;
+    }
+
+    /**
+     * The stories are performed in parallel, the given stories are memoized once per story only.
+     */
+    public MemoizingPerformableTree withParallelStories(boolean parallelStories) {
+        this.parallelStories = parallelStories;
+        return this;
+    }
+
+    @Override
+    public RunContext newRunContext(Configuration configuration, AllStepCandidates allStepCandidates,
+                                    EmbedderMonitor embedderMonitor, MetaFilter filter, BatchFailures failures) {
+        return new MemoizingRunContext(configuration, allStepCandidates, embedderMonitor, filter, failures);
+    }
+
+    /**
+     * The stories keep their order in the root, but they are built in the order of the story execution comparator.
+     */
+    @Override
+    public void addStories(RunContext context, List<Story> stories) {
+        for (Story story : stories) {
+            getRoot().add(new PerformableStory(story, context.configuration().keywords(), false));
+        }
+        List<Story> performedStories = new ArrayList<>(stories);
+        performedStories.sort(context.configuration().storyExecutionComparator());
+        addingStories = true;
+        try {
+            // the built stories replace the ones added above at their place
+            super.addStories(context, performedStories);
+        } finally {
+            addingStories = false;
+        }
+        for (Story story : stories) {
+            parallelizeExamples(getRoot().get(story));
+        }
+    }
+
+    protected boolean isAddingStories() {
+        return addingStories;
+    }
+
+    protected void parallelizeExamples(PerformableStory performableStory) {
+        Story story = performableStory.getStory();
+        List<PerformableScenario> scenarios = performableStory.getScenarios();
+        for (int i = 0; i < scenarios.size(); i++) {
+            PerformableScenario scenario = scenarios.get(i);
+            Meta meta = scenario.getScenario().getMeta().inheritFrom(story.getMeta());
+            int threads = ParallelExamplesPerformableScenario.threads(meta);
+            // rows using a resource exclusively are performed one after another
+            if (threads > 1 && scenario.hasExamples() && !ResourceLocks.of(meta).isExclusive()) {
+                scenarios.set(i, new ParallelExamplesPerformableScenario(scenario, story, threads, examplesExecutor()));
+            }
+        }
+    }
+
+    private ExecutorService examplesExecutor() {
+        if (examplesExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            examplesExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "jbehave-examples-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return examplesExecutor;
+    }
+
+    @Override
+    public void performBeforeOrAfterStories(RunContext context, StepCollector.Stage stage) {
+        try {
+            if (performsStoriesSteps(stage)) {
+                super.performBeforeOrAfterStories(context, stage);
+            }
+        } finally {
+            if (stage == StepCollector.Stage.AFTER && examplesExecutor != null) {
+                examplesExecutor.shutdownNow();
+                examplesExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * @return the BeforeStories or AfterStories steps are performed by this run, they are by default
+     */
+    protected boolean performsStoriesSteps(StepCollector.Stage stage) {
+        return true;
+    }
+
+    /**
+     * Holds the resource locks of the story and its scenarios while the story is performed.
+     */
+    @Override
+    public void perform(RunContext context, Story story) {
+        ResourceLocks locks = ResourceLocks.of(story);
+        locks.acquire();
+        try {
+            super.perform(context, story);
+        } finally {
+            locks.release();
+        }
+    }
+
+    /**
+     * Stories loaded while the stories are added to the tree are the given stories.
+     */
+    @Override
+    public Story storyOfPath(Configuration configuration, String storyPath) {
+        Story story = super.storyOfPath(configuration, storyPath);
+        if (!addingStories || !story.getMeta().hasProperty(MEMOIZE_META)) {
+            return story;
+        }
+        Set<String> performed = parallelStories || STORY_SCOPE.equals(story.getMeta().getProperty(MEMOIZE_META).trim())
+            ? performedInStory
+            : performedInRun;
+        return performed.add(storyPath) ? story : new ReusedStory(story);
+    }
+
+    /**
+     * Run context which starts the memoization of a new story when a story of the root is built.
+     */
+    private class MemoizingRunContext extends RunContext {
+
+        MemoizingRunContext(Configuration configuration, AllStepCandidates allStepCandidates,
+                            EmbedderMonitor embedderMonitor, MetaFilter filter, BatchFailures failures) {
+            super(configuration, allStepCandidates, embedderMonitor, filter, failures);
+        }
+
+        /**
+         * Called for every story of the root before its given stories are loaded, the given stories are filtered
+         * by their own contexts.
+         */
+        @Override
+        public FilteredStory filter(Story story) {
+            if (addingStories) {
+                performedInStory.clear();
+            }
+            return super.filter(story);
+        }
+    }
+
+    private static class ReusedStory extends Story {
+
+        ReusedStory(Story story) {
+            super(story.getPath(), story.getDescription(), story.getMeta(), story.getNarrative(), story.getGivenStories(),
+                story.getLifecycle(), Collections.emptyList());
+            namedAs(story.getName());
+        }
+    }
+}
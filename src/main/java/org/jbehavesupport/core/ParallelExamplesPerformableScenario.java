@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.model.Meta;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.reporters.ConcurrentStoryReporter;
+import org.jbehave.core.reporters.NullStoryReporter;
+import org.jbehave.core.reporters.StoryReporter;
+import org.jbehave.core.steps.StepCreator;
+import org.jbehave.core.steps.Timer;
+import org.jbehave.core.steps.Timing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Performable scenario which performs the rows of its examples table in parallel. Every row reports into its own
+ * buffer, the buffers are replayed to the story reporter in the order of the rows when all the rows are finished,
+ * so the reporters receive the same sequence of events as from a sequential run. As the events are replayed,
+ * the durations of the examples and their steps measured by the reporters are the durations of the replay,
+ * only the scenario is timed by its execution.
+ * <p>
+ * The rows do not see each other's failures and the scenario and story scoped objects of the steps context.
+ * The rows are performed by the threads of the executor shared by the run, at most the requested number at once.
+ * All rows are performed by the same steps instances, so the steps classes must be stateless or thread safe.
+ */
+@Slf4j
+public class ParallelExamplesPerformableScenario extends PerformableTree.PerformableScenario {
+
+    /**
+     * Meta of a scenario or story whose example rows are performed in parallel by the same steps instances,
+     * the steps classes performing them must be stateless or thread safe.
+     */
+    public static final String PARALLEL_EXAMPLES_META = "parallelExamples";
+
+    private final Story story;
+    private final int threads;
+    private final ExecutorService executor;
+    private PerformableTree.Status status;
+    private Timing timing = new Timing();
+
+    ParallelExamplesPerformableScenario(PerformableTree.PerformableScenario scenario, Story story, int threads,
+                                       ExecutorService executor) {
+        super(scenario.getScenario(), scenario.getStoryPath());
+        this.story = story;
+        this.threads = threads;
+        this.executor = executor;
+        excluded(scenario.isExcluded());
+        scenario.getExamples().forEach(this::addExampleScenario);
+    }
+
+    /**
+     * Returns the number of threads requested by the meta {@code @parallelExamples} of the scenario or its story,
+     * the number of processors when the meta has no value, or zero when the meta is missing or is not a number.
+     */
+    public static int threads(Meta meta) {
+        if (!meta.hasProperty(PARALLEL_EXAMPLES_META)) {
+            return 0;
+        }
+        String value = meta.getProperty(PARALLEL_EXAMPLES_META).trim();
+        if (value.isEmpty()) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid number of threads '{}' of meta @{}, examples are performed one after another", value,
+                PARALLEL_EXAMPLES_META);
+            return 0;
+        }
+    }
+
+    @Override
+    public PerformableTree.Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public Timing getTiming() {
+        return timing;
+    }
+
+    @Override
+    public void perform(PerformableTree.RunContext context) throws InterruptedException {
+        Scenario scenario = getScenario();
+        if (isExcluded()) {
+            context.embedderMonitor().scenarioExcluded(scenario, context.filter());
+            return;
+        }
+        Timer timer = new Timer().start();
+        try {
+            context.stepsContext().resetScenario();
+            context.reporter().beforeScenario(scenario);
+            PerformableTree.State state = context.state();
+            context.reporter().beforeExamples(scenario.getSteps(), scenario.getExamplesTable());
+            performExamples(context, state);
+            context.reporter().afterExamples();
+            status = context.status(state);
+        } finally {
+            timing = new Timing(timer.stop());
+            context.reporter().afterScenario(timing);
+        }
+    }
+
+    private void performExamples(PerformableTree.RunContext context, PerformableTree.State state) throws InterruptedException {
+        List<PerformableTree.ExamplePerformableScenario> examples = getExamples();
+        List<ExampleRunContext> contexts = examples.stream()
+            .map(example -> new ExampleRunContext(context, story, state))
+            .collect(Collectors.toList());
+        // every worker performs the next row not taken yet, so no more than the requested threads are busy
+        AtomicInteger nextRow = new AtomicInteger();
+        Callable<Void> worker = () -> {
+            for (int row = nextRow.getAndIncrement(); row < examples.size(); row = nextRow.getAndIncrement()) {
+                contexts.get(row).perform(examples.get(row));
+            }
+            return null;
+        };
+        int workers = Math.max(1, Math.min(threads, examples.size()));
+        try {
+            // cancels the workers when interrupted
+            awaitAll(executor.invokeAll(Collections.nCopies(workers, worker)));
+        } finally {
+            contexts.forEach(ExampleRunContext::replay);
+            merge(context, contexts);
+        }
+    }
+
+    private void awaitAll(List<Future<Void>> futures) throws InterruptedException {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof InterruptedException) {
+                    throw (InterruptedException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw (RuntimeException) cause;
+            }
+        }
+    }
+
+    /**
+     * Hands the outcome of the rows over to the story context as if the rows were performed one after another.
+     */
+    private void merge(PerformableTree.RunContext context, List<ExampleRunContext> contexts) {
+        boolean resetState = context.configuration().storyControls().resetStateBeforeScenario();
+        List<StepCreator.PendingStep> pendingSteps = new ArrayList<>();
+        PerformableTree.State result = null;
+        for (ExampleRunContext exampleContext : contexts) {
+            pendingSteps.addAll(exampleContext.pendingSteps);
+            PerformableTree.State exampleState = exampleContext.finalState;
+            if (exampleState == null) {
+                continue;
+            }
+            if (result != null && context.failed(result)) {
+                if (!resetState) {
+                    continue;
+                }
+                context.addFailure(story, context.failure(result));
+            }
+            result = exampleState;
+        }
+        context.pendingSteps(pendingSteps);
+        if (result != null) {
+            context.stateIs(result);
+        }
+    }
+
+    /**
+     * Run context of one example row, created by the story thread and used by the worker thread only.
+     */
+    private static final class ExampleRunContext extends PerformableTree.RunContext {
+
+        private final PerformableTree.RunContext parent;
+        private final Story story;
+        private final String path;
+        private final PerformableTree.State initialState;
+        private final ConcurrentStoryReporter reporter;
+        private final List<StepCreator.PendingStep> pendingSteps = Collections.synchronizedList(new ArrayList<>());
+        private volatile PerformableTree.State finalState;
+
+        ExampleRunContext(PerformableTree.RunContext parent, Story story, PerformableTree.State initialState) {
+            super(parent.configuration(), null, parent.embedderMonitor(), parent.filter(), parent.getFailures());
+            this.parent = parent;
+            this.story = story;
+            this.path = parent.path();
+            this.initialState = initialState;
+            this.reporter = new ConcurrentStoryReporter(new NullStoryReporter(),
+                Collections.singletonList(parent.reporter()), true);
+        }
+
+        void perform(PerformableTree.ExamplePerformableScenario example) throws InterruptedException {
+            stateIs(initialState);
+            try {
+                example.perform(this);
+            } finally {
+                finalState = state();
+            }
+        }
+
+        void replay() {
+            reporter.invokeDelayed();
+        }
+
+        @Override
+        public String path() {
+            return path;
+        }
+
+        @Override
+        public boolean givenStory() {
+            return parent.givenStory();
+        }
+
+        @Override
+        public StoryReporter reporter() {
+            return reporter;
+        }
+
+        @Override
+        public void interruptIfCancelled() throws InterruptedException {
+            if (parent.isCancelled(story)) {
+                throw new InterruptedException(path);
+            }
+        }
+
+        @Override
+        public void pendingSteps(List<StepCreator.PendingStep> pendingSteps) {
+            this.pendingSteps.addAll(pendingSteps);
+        }
+
+        @Override
+        public boolean hasPendingSteps() {
+            return !pendingSteps.isEmpty();
+        }
+
+        @Override
+        public boolean isStoryPending() {
+            return !pendingSteps.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import org.jbehave.core.failures.UUIDExceptionWrapper;
+import org.jbehave.core.model.Meta;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locks of the shared resources declared by the meta {@code @resourceLock}, e.g. {@code @resourceLock account}
+ * or {@code @resourceLock account READ, queue}. A resource is locked for reading and writing unless the mode
+ * {@code READ} is given, the stories only reading a resource may run together.
+ * <p>
+ * The locks are shared by the whole JVM and they are always acquired in the order of the resource names.
+ */
+public final class ResourceLocks {
+
+    public static final String RESOURCE_LOCK_META = "resourceLock";
+
+    private static final Map<String, ReentrantReadWriteLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final SortedMap<String, Mode> resources = new TreeMap<>();
+    private final Deque<Lock> acquired = new ArrayDeque<>();
+
+    public enum Mode {
+        READ, READ_WRITE
+    }
+
+    private ResourceLocks() {
+    }
+
+    /**
+     * Returns the locks declared by the story and all its scenarios.
+     */
+    public static ResourceLocks of(Story story) {
+        ResourceLocks locks = new ResourceLocks();
+        locks.add(story.getMeta());
+        for (Scenario scenario : story.getScenarios()) {
+            locks.add(scenario.getMeta());
+        }
+        return locks;
+    }
+
+    public static ResourceLocks of(Meta meta) {
+        ResourceLocks locks = new ResourceLocks();
+        locks.add(meta);
+        return locks;
+    }
+
+    public Map<String, Mode> getResources() {
+        return resources;
+    }
+
+    public boolean isExclusive() {
+        return resources.containsValue(Mode.READ_WRITE);
+    }
+
+    /**
+     * Waits for all the locks, the interruption of the waiting is propagated the same way as by the performable tree.
+     */
+    public void acquire() {
+        try {
+            for (Map.Entry<String, Mode> resource : resources.entrySet()) {
+                ReentrantReadWriteLock lock = LOCKS.computeIfAbsent(resource.getKey(), name -> new ReentrantReadWriteLock());
+                Lock modeLock = resource.getValue() == Mode.READ ? lock.readLock() : lock.writeLock();
+                modeLock.lockInterruptibly();
+                acquired.push(modeLock);
+            }
+        } catch (InterruptedException e) {
+            release();
+            throw new UUIDExceptionWrapper(e);
+        }
+    }
+
+    public void release() {
+        while (!acquired.isEmpty()) {
+            acquired.pop().unlock();
+        }
+    }
+
+    private void add(Meta meta) {
+        if (!meta.hasProperty(RESOURCE_LOCK_META)) {
+            return;
+        }
+        for (String declaration : meta.getProperty(RESOURCE_LOCK_META).split(",")) {
+            String[] parts = declaration.trim().split("\\s+");
+            if (parts[0].isEmpty()) {
+                continue;
+            }
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Invalid resource lock: " + declaration.trim());
+            }
+            Mode mode = parts.length == 2 ? Mode.valueOf(parts[1].toUpperCase(Locale.ROOT)) : Mode.READ_WRITE;
+            resources.merge(parts[0], mode, (first, second) -> first == Mode.READ_WRITE ? first : second);
+        }
+    }
+}
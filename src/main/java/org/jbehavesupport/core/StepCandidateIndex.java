@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.jbehave.core.annotations.Alias;
+import org.jbehave.core.annotations.Aliases;
+import org.jbehave.core.annotations.Composite;
+import org.jbehave.core.annotations.Given;
+import org.jbehave.core.annotations.Then;
+import org.jbehave.core.annotations.When;
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.embedder.Embedder;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehave.core.steps.InjectableStepsFactory;
+import org.jbehave.core.steps.PatternVariantBuilder;
+import org.jbehave.core.steps.StepCandidate;
+import org.jbehave.core.steps.StepType;
+import org.jbehave.core.steps.Steps;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the step methods of a steps class written at compile time by the annotation processor
+ * of {@code jbehave-junit-support-processor}. The discovery creates the step candidates of an indexed class
+ * from the index, the methods are looked up by their signatures instead of scanning all methods
+ * of the class for the step annotations.
+ */
+@Slf4j
+public final class StepCandidateIndex {
+
+    public static final String INDEX_DIRECTORY = "META-INF/jbehave/steps/";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class, long.class,
+            float.class, double.class}) {
+            PRIMITIVE_TYPES.put(type.getName(), type);
+        }
+    }
+
+    private StepCandidateIndex() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return name of the index resource of the steps class of the given binary name
+     */
+    public static String resourceName(String typeName) {
+        return INDEX_DIRECTORY + typeName + ".steps";
+    }
+
+    /**
+     * Candidate steps of the embedder, the steps classes having an index list their candidates from it.
+     * The index is not used when the configuration contains alias files, their variants are known at runtime only.
+     */
+    public static List<CandidateSteps> candidateSteps(Embedder configuredEmbedder) {
+        List<CandidateSteps> candidateSteps = configuredEmbedder.stepsFactory().createCandidateSteps();
+        Configuration configuration = configuredEmbedder.configuration();
+        if (!configuration.aliasPaths().isEmpty()) {
+            return candidateSteps;
+        }
+        return candidateSteps.stream()
+            .map(steps -> indexed(steps, configuration, configuredEmbedder.stepsFactory()))
+            .collect(Collectors.toList());
+    }
+
+    private static CandidateSteps indexed(CandidateSteps candidateSteps, Configuration configuration, InjectableStepsFactory stepsFactory) {
+        if (candidateSteps.getClass() != Steps.class) {
+            return candidateSteps;
+        }
+        Class<?> type = ((Steps) candidateSteps).type();
+        return read(type)
+            .<CandidateSteps>map(entries -> new IndexedSteps(configuration, type, stepsFactory, entries, (Steps) candidateSteps))
+            .orElse(candidateSteps);
+    }
+
+    /**
+     * @return entries of the index of the type, empty when the type has no index
+     */
+    @SneakyThrows(IOException.class)
+    public static Optional<List<Entry>> read(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader() != null ? type.getClassLoader() : ClassLoader.getSystemClassLoader();
+        try (InputStream inputStream = classLoader.getResourceAsStream(resourceName(type.getName()))) {
+            if (inputStream == null) {
+                return Optional.empty();
+            }
+            Optional<List<Entry>> entries = read(inputStream);
+            if (!entries.isPresent()) {
+                log.debug("Step index of {} has an unsupported format", type.getName());
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * @return entries of the index, empty when the index has an unsupported format
+     */
+    public static Optional<List<Entry>> read(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(inputStream);
+        if (input.readInt() != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+        int count = input.readInt();
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(StepType.valueOf(input.readUTF()), input.readInt(), input.readUTF(),
+                readStrings(input), readStrings(input), input.readBoolean(), readStrings(input)));
+        }
+        return Optional.of(entries);
+    }
+
+    public static void write(List<Entry> entries, OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(entries.size());
+        for (Entry entry : entries) {
+            output.writeUTF(entry.getStepType().name());
+            output.writeInt(entry.getPriority());
+            output.writeUTF(entry.getMethodName());
+            writeStrings(output, entry.getParameterTypes());
+            writeStrings(output, entry.getPatterns());
+            output.writeBoolean(entry.isComposite());
+            writeStrings(output, entry.getComposedSteps());
+        }
+        output.flush();
+    }
+
+    private static List<String> readStrings(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(input.readUTF());
+        }
+        return strings;
+    }
+
+    private static void writeStrings(DataOutputStream output, List<String> strings) throws IOException {
+        output.writeInt(strings.size());
+        for (String string : strings) {
+            output.writeUTF(string);
+        }
+    }
+
+    /**
+     * One step annotation of a method: its type, priority, the signature of the method, the pattern of the annotation
+     * followed by the patterns of its aliases and the composed steps of a composite step.
+     * The parameter types are named as by {@link Class#getName()}.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Entry {
+        private final StepType stepType;
+        private final int priority;
+        private final String methodName;
+        private final List<String> parameterTypes;
+        private final List<String> patterns;
+        private final boolean composite;
+        private final List<String> composedSteps;
+    }
+
+    /**
+     * Steps listing the candidates from the index, all other lists are taken from the annotations.
+     * When a method of the index does not exist anymore or its annotations differ from the entry, e.g. the class
+     * changed without the processor running, the candidates are listed from the annotations too.
+     */
+    private static final class IndexedSteps extends Steps {
+
+        private final Class<?> type;
+        private final InjectableStepsFactory stepsFactory;
+        private final List<Entry> entries;
+        private final Steps annotatedSteps;
+
+        IndexedSteps(Configuration configuration, Class<?> type, InjectableStepsFactory stepsFactory, List<Entry> entries,
+                     Steps annotatedSteps) {
+            super(configuration, type, stepsFactory);
+            this.type = type;
+            this.stepsFactory = stepsFactory;
+            this.entries = entries;
+            this.annotatedSteps = annotatedSteps;
+        }
+
+        @Override
+        public List<StepCandidate> listCandidates() {
+            List<StepCandidate> candidates = new ArrayList<>();
+            for (Entry entry : entries) {
+                Optional<Method> method = findMethod(entry);
+                if (!method.isPresent()) {
+                    log.debug("Step index of {} is out of date, method {} not found", type.getName(), entry.getMethodName());
+                    return annotatedSteps.listCandidates();
+                }
+                if (!isAnnotated(method.get(), entry)) {
+                    log.debug("Step index of {} is out of date, annotations of method {} changed", type.getName(), entry.getMethodName());
+                    return annotatedSteps.listCandidates();
+                }
+                for (String pattern : entry.getPatterns()) {
+                    for (String variant : new PatternVariantBuilder(pattern).allVariants()) {
+                        StepCandidate candidate = createCandidate(variant, entry.getPriority(), entry.getStepType(),
+                            method.get(), type, stepsFactory);
+                        if (entry.isComposite()) {
+                            candidate.composedOf(entry.getComposedSteps().toArray(new String[0]));
+                        }
+                        candidates.add(candidate);
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        /**
+         * @return the method has the step annotation, aliases and composed steps of the entry
+         */
+        private static boolean isAnnotated(Method method, Entry entry) {
+            List<String> patterns = new ArrayList<>();
+            int priority;
+            switch (entry.getStepType()) {
+                case GIVEN:
+                    Given given = method.getAnnotation(Given.class);
+                    if (given == null) {
+                        return false;
+                    }
+                    patterns.add(given.value());
+                    priority = given.priority();
+                    break;
+                case WHEN:
+                    When when = method.getAnnotation(When.class);
+                    if (when == null) {
+                        return false;
+                    }
+                    patterns.add(when.value());
+                    priority = when.priority();
+                    break;
+                case THEN:
+                    Then then = method.getAnnotation(Then.class);
+                    if (then == null) {
+                        return false;
+                    }
+                    patterns.add(then.value());
+                    priority = then.priority();
+                    break;
+                default:
+                    return false;
+            }
+            Aliases aliases = method.getAnnotation(Aliases.class);
+            if (aliases != null) {
+                patterns.addAll(Arrays.asList(aliases.values()));
+            }
+            Alias alias = method.getAnnotation(Alias.class);
+            if (alias != null) {
+                patterns.add(alias.value());
+            }
+            Composite composite = method.getAnnotation(Composite.class);
+            return priority == entry.getPriority()
+                && patterns.equals(entry.getPatterns())
+                && (composite != null) == entry.isComposite()
+                && (composite == null || Arrays.asList(composite.steps()).equals(entry.getComposedSteps()));
+        }
+
+        private Optional<Method> findMethod(Entry entry) {
+            try {
+                Class<?>[] parameterTypes = new Class<?>[entry.getParameterTypes().size()];
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    String name = entry.getParameterTypes().get(i);
+                    parameterTypes[i] = PRIMITIVE_TYPES.containsKey(name)
+                        ? PRIMITIVE_TYPES.get(name)
+                        : Class.forName(name, false, type.getClassLoader());
+                }
+                return Optional.of(type.getMethod(entry.getMethodName(), parameterTypes));
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executors running the stories. This is the Java 8 version, the multi-release jar contains the Java 21 version
+ * in {@code META-INF/versions/21} which provides the virtual threads.
+ */
+@Slf4j
+public final class StoryExecutors {
+
+    public static final String VIRTUAL_THREADS_PROPERTY = "jbehave.execution.virtual.threads";
+
+    private StoryExecutors() {
+    }
+
+    /**
+     * Returns true when the runtime supports virtual threads, otherwise logs that the stories are run
+     * by the embedder controls threads.
+     */
+    public static boolean supportsVirtualThreads() {
+        log.warn("Virtual threads are not supported by the runtime, stories are run by the embedder controls threads");
+        return false;
+    }
+
+    /**
+     * Returns the executor starting a new virtual thread for every story, empty when the runtime does not support
+     * virtual threads.
+     */
+    public static Optional<ExecutorService> virtualThreadExecutor() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehavesupport.core.tree.TestTree;
+
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.jbehavesupport.core.TextFormatter.removeClass;
+
+/**
+ * Base of the reporters translating the story events into execution events of the tree of tests.
+ *
+ * @param <T> node of the tree, e.g. JUnit 4 description or JUnit 5 test descriptor
+ */
+public abstract class AbstractTreeReporter<T> extends LoggingReporter {
+    protected static final String BEFORE_STORIES = "BeforeStories";
+    protected static final String AFTER_STORIES = "AfterStories";
+
+    protected final TestTree<T> tree;
+    protected final ExecutionListener<T> listener;
+    protected final T root;
+    protected final Configuration configuration;
+
+    protected int givenStories = 0;
+
+    protected AbstractTreeReporter(TestTree<T> tree, ExecutionListener<T> listener, T root, Configuration configuration) {
+        this.tree = tree;
+        this.listener = listener;
+        this.root = root;
+        this.configuration = configuration;
+    }
+
+    protected boolean testIsEligibleAs(T node, String storyName) {
+        return tree.getDisplayName(node).startsWith(storyName);
+    }
+
+    protected boolean storyIsEligibleAs(T node, String storyName) {
+        return removeClass(tree.getDisplayName(node)).equals(buildStoryText(storyName));
+    }
+
+    protected boolean isAGivenStory() {
+        return this.givenStories > 0;
+    }
+
+    protected boolean notAGivenStory() {
+        return this.givenStories == 0;
+    }
+}
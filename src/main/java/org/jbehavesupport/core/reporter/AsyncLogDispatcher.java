@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands log events over to a single background thread through a bounded ring buffer, so that threads
+ * executing steps never block on log I/O. When the buffer is full the event is dropped and counted,
+ * unless it must not be lost, then the calling thread waits for free space in the buffer. On shutdown the background
+ * thread is stopped and joined before the remaining events are run, so each event is logged exactly once.
+ */
+@Slf4j
+public final class AsyncLogDispatcher {
+
+    public static final String BUFFER_SIZE_PROPERTY = "jbehave.logging.async.buffer";
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+    private static final Runnable STOP = () -> { };
+
+    private static volatile AsyncLogDispatcher instance;
+
+    private final BlockingQueue<Runnable> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+
+    private AsyncLogDispatcher(int bufferSize) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.worker = new Thread(this::drain, "jbehave-async-logger");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "jbehave-async-logger-flush"));
+    }
+
+    public static AsyncLogDispatcher getInstance() {
+        if (instance == null) {
+            synchronized (AsyncLogDispatcher.class) {
+                if (instance == null) {
+                    instance = new AsyncLogDispatcher(Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE));
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void dispatch(Runnable logEvent) {
+        if (!buffer.offer(logEvent)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Buffers the event even when the buffer is full, e.g. errors, the event is run on the calling thread
+     * when it is interrupted while waiting.
+     */
+    public void dispatchWithoutDropping(Runnable logEvent) {
+        try {
+            buffer.put(logEvent);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run(logEvent);
+        }
+    }
+
+    /**
+     * Signals the background thread to stop once it has run the events buffered so far and waits for it, then runs
+     * the events buffered in the meantime on the calling thread.
+     */
+    void stop() {
+        try {
+            if (buffer.offer(STOP, STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                worker.join(STOP_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Async logging thread did not stop in time, the remaining log events are not logged");
+            return;
+        }
+        List<Runnable> events = new ArrayList<>(buffer.size());
+        buffer.drainTo(events);
+        events.stream()
+            .filter(event -> event != STOP)
+            .forEach(AsyncLogDispatcher::run);
+        reportDropped();
+    }
+
+    private void drain() {
+        try {
+            Runnable logEvent;
+            while ((logEvent = buffer.take()) != STOP) {
+                run(logEvent);
+                reportDropped();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reportDropped() {
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            log.warn("Dropped {} log events, async logging buffer is full", count);
+        }
+    }
+
+    private static void run(Runnable logEvent) {
+        try {
+            logEvent.run();
+        } catch (RuntimeException e) {
+            log.error("Async log event failed", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+/**
+ * Framework neutral sink of the execution events produced by the reporters.
+ *
+ * @param <T> node of the tree, e.g. JUnit 4 description or JUnit 5 test descriptor
+ */
+public interface ExecutionListener<T> {
+
+    void started(T node);
+
+    void finished(T node);
+
+    void failed(T node, Throwable cause);
+
+    void skipped(T node, String reason);
+
+    /**
+     * Step without matching step method.
+     */
+    void pending(T node, String step);
+
+    /**
+     * Finishes the node with its result, {@code null} failure means the node was successful.
+     */
+    default void finished(T node, Throwable failure) {
+        if (failure != null) {
+            failed(node, failure);
+        }
+        finished(node);
+    }
+}
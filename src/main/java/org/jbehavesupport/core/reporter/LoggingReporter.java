@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jbehave.core.model.ExamplesTable;
+import org.jbehave.core.model.GivenStories;
+import org.jbehave.core.model.Lifecycle;
+import org.jbehave.core.model.Narrative;
+import org.jbehave.core.model.OutcomesTable;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Step;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.model.StoryDuration;
+import org.jbehave.core.reporters.NullStoryReporter;
+import org.jbehave.core.steps.StepCollector;
+import org.jbehave.core.steps.Timing;
+import org.jbehavesupport.core.MemoizingPerformableTree;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
+
+import static org.jbehavesupport.core.reporter.LoggingLevel.ERROR;
+import static org.jbehavesupport.core.reporter.LoggingLevel.SCENARIO;
+import static org.jbehavesupport.core.reporter.LoggingLevel.STEP;
+import static org.jbehavesupport.core.reporter.LoggingLevel.STORY;
+
+/**
+ * @author Michal Bocek
+ * @since 29/08/16
+ */
+@Slf4j
+public class LoggingReporter extends NullStoryReporter {
+
+    private static final String THREAD_PREFIX = "[{}] ";
+
+    private LoggingLevel loggingLevel = LoggingLevel.STEP;
+    private boolean asyncLogging;
+
+    @Override
+    public void storyExcluded(Story story, String filter) {
+        if (isInfoEnabled(STORY)) {
+            info("Story: {} excluded by filter: {}", story.getName(), filter);
+        }
+    }
+
+    @Override
+    public void storyCancelled(Story story, StoryDuration storyDuration) {
+        if (isInfoEnabled(STORY)) {
+            info("Story: {} cancelled in: {}s", story.getName(), storyDuration.getDurationInSecs());
+        }
+    }
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory) {
+        if (isInfoEnabled(STORY)) {
+            info("Before story: {}{}", story.getName(), givenStory ? givenStoryText(story) : "");
+        }
+    }
+
+    private static String givenStoryText(Story story) {
+        return MemoizingPerformableTree.isReused(story) ? "(reused given story)" : "(given story)";
+    }
+
+    @Override
+    public void afterStory(boolean givenOrRestartingStory) {
+        if (isInfoEnabled(STORY)) {
+            info("After story");
+        }
+    }
+
+    @Override
+    public void narrative(Narrative narrative) {
+        if (!isInfoEnabled(STORY)) {
+            return;
+        }
+        if (!narrative.isEmpty()) {
+            info("Narrative:");
+        }
+        if (!narrative.inOrderTo().isEmpty()) {
+            info("In order to {}", narrative.inOrderTo());
+        }
+        if (!narrative.asA().isEmpty()) {
+            info("As a {}", narrative.asA());
+        }
+        if (!narrative.iWantTo().isEmpty()) {
+            info("I want to {}", narrative.iWantTo());
+        }
+        if (!narrative.soThat().isEmpty()) {
+            info("So that {}", narrative.soThat());
+        }
+    }
+
+    @Override
+    public void beforeStoriesSteps(StepCollector.Stage stage) {
+        if (isInfoEnabled(STORY)) {
+            info("Before stories steps, stage: {}", stage);
+        }
+    }
+
+    @Override
+    public void afterStoriesSteps(StepCollector.Stage stage) {
+        if (isInfoEnabled(STORY)) {
+            info("After stories steps, stage: {}", stage);
+        }
+    }
+
+    @Override
+    public void beforeStorySteps(StepCollector.Stage stage, Lifecycle.ExecutionType type) {
+        if (isInfoEnabled(STORY)) {
+            info("Before story steps, stage: {}, type: {}", stage, type);
+        }
+    }
+
+    @Override
+    public void afterStorySteps(StepCollector.Stage stage, Lifecycle.ExecutionType type) {
+        if (isInfoEnabled(STORY)) {
+            info("After story steps, stage: {}, type: {}", stage, type);
+        }
+    }
+
+    @Override
+    public void lifecycle(Lifecycle lifecycle) {
+        if (isInfoEnabled(STORY) && !lifecycle.isEmpty()) {
+            info("Lifecycle: {}", lifecycle);
+        }
+    }
+
+    @Override
+    public void scenarioExcluded(Scenario scenario, String filter) {
+        if (isInfoEnabled(SCENARIO)) {
+            info("Scenario: {} excluded by filer: {}", scenario.getTitle(), filter);
+        }
+    }
+
+    @Override
+    public void beforeScenario(Scenario scenario) {
+        if (isInfoEnabled(SCENARIO)) {
+            info("Before scenario: {}", scenario.getTitle());
+        }
+    }
+
+    @Override
+    public void afterScenario(Timing timing) {
+        if (isInfoEnabled(SCENARIO)) {
+            info("After scenario, timing: {}", timing);
+        }
+    }
+
+    @Override
+    public void givenStories(GivenStories givenStories) {
+        if (isInfoEnabled(SCENARIO)) {
+            info("Given stories: {}", givenStories);
+        }
+    }
+
+    @Override
+    public void givenStories(List<String> storyPaths) {
+        if (isInfoEnabled(SCENARIO)) {
+            info("Given stories: {}", storyPaths);
+        }
+    }
+
+    @Override
+    public void beforeExamples(List<String> steps, ExamplesTable table) {
+        if (isInfoEnabled(SCENARIO)) {
+            info("Before steps: {} with example table: {}", steps, table);
+        }
+    }
+
+    @Override
+    public void example(Map<String, String> tableRow, int exampleIndex) {
+        if (isInfoEnabled(SCENARIO)) {
+            info("Example: {}, index: {}", tableRow, exampleIndex);
+        }
+    }
+
+    @Override
+    public void afterExamples() {
+        if (isInfoEnabled(SCENARIO)) {
+            info("After examples");
+        }
+    }
+
+    @Override
+    public void beforeStep(Step step) {
+        if (isInfoEnabled(STEP)) {
+            info("Before step: {}", step.getStepAsString());
+        }
+    }
+
+    @Override
+    public void successful(String step) {
+        if (isInfoEnabled(STEP)) {
+            info("Successful step: {}", step);
+        }
+    }
+
+    @Override
+    public void ignorable(String step) {
+        if (isInfoEnabled(STEP)) {
+            info("Ignorable step: {}", step);
+        }
+    }
+
+    @Override
+    public void pending(String step) {
+        if (isErrorEnabled()) {
+            error("Pending step: {}", step);
+        }
+    }
+
+    @Override
+    public void notPerformed(String step) {
+        if (isWarnEnabled(STEP)) {
+            warn("Not performed step: {}", step);
+        }
+    }
+
+    @Override
+    public void failed(String step, Throwable cause) {
+        if (isErrorEnabled()) {
+            error("Failed step: {} cause: {}", step, cause);
+        }
+    }
+
+    @Override
+    public void failedOutcomes(String step, OutcomesTable table) {
+        if (isErrorEnabled()) {
+            error("Failed step: {} outcomes: {}", step, table);
+        }
+    }
+
+    @Override
+    public void restarted(String step, Throwable cause) {
+        if (isInfoEnabled(STEP)) {
+            info("Restarted step: {} because of: {}", step, cause);
+        }
+    }
+
+    @Override
+    public void restartedStory(Story story, Throwable cause) {
+        if (isErrorEnabled()) {
+            error("Restarted story: {} because of: {}", story.getName(), cause);
+        }
+    }
+
+    @Override
+    public void dryRun() {
+        if (isInfoEnabled(STORY)) {
+            info("Dry run");
+        }
+    }
+
+    @Override
+    public void pendingMethods(List<String> methods) {
+        if (isErrorEnabled()) {
+            error("Pending methods: {}", methods);
+        }
+    }
+
+    public LoggingReporter useLoggingLevel(LoggingLevel loggingLevel) {
+        this.loggingLevel = loggingLevel;
+        return this;
+    }
+
+    public LoggingReporter doAsyncLogging(boolean asyncLogging) {
+        this.asyncLogging = asyncLogging;
+        return this;
+    }
+
+    protected boolean isInfoEnabled(LoggingLevel level) {
+        return loggingLevel.includes(level) && log.isInfoEnabled();
+    }
+
+    protected boolean isWarnEnabled(LoggingLevel level) {
+        return loggingLevel.includes(level) && log.isWarnEnabled();
+    }
+
+    protected boolean isErrorEnabled() {
+        return loggingLevel.includes(ERROR) && log.isErrorEnabled();
+    }
+
+    protected void info(String format, Object... arguments) {
+        dispatch(log::info, true, format, arguments);
+    }
+
+    protected void warn(String format, Object... arguments) {
+        dispatch(log::warn, true, format, arguments);
+    }
+
+    protected void error(String format, Object... arguments) {
+        dispatch(log::error, false, format, arguments);
+    }
+
+    private void dispatch(BiConsumer<String, Object[]> logger, boolean droppable, String format, Object[] arguments) {
+        Object[] threadAndMessage = threadAndMessage(format, arguments);
+        if (!asyncLogging) {
+            logger.accept(THREAD_PREFIX + "{}", threadAndMessage);
+            return;
+        }
+        Runnable logEvent = () -> logger.accept(THREAD_PREFIX + "{}", threadAndMessage);
+        if (droppable) {
+            AsyncLogDispatcher.getInstance().dispatch(logEvent);
+        } else {
+            AsyncLogDispatcher.getInstance().dispatchWithoutDropping(logEvent);
+        }
+    }
+
+    /**
+     * Formats the message on the calling thread, so that the synchronous and the asynchronous logging log the same
+     * lines. The arguments may change after the call, e.g. tables and timings, and the asynchronous event is logged
+     * by another thread, so the name of the thread which produced the message is kept as its prefix.
+     */
+    private static Object[] threadAndMessage(String format, Object[] arguments) {
+        FormattingTuple message = MessageFormatter.arrayFormat(format, arguments);
+        return message.getThrowable() == null
+            ? new Object[] {Thread.currentThread().getName(), message.getMessage()}
+            : new Object[] {Thread.currentThread().getName(), message.getMessage(), message.getThrowable()};
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.failures.PendingStepFound;
+import org.jbehave.core.failures.UUIDExceptionWrapper;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.Timing;
+import org.jbehavesupport.core.tree.TestTree;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+public class ScenarioLevelReporter<T> extends AbstractTreeReporter<T> {
+
+    private T currentStory;
+    private Iterator<? extends T> scenarios;
+    private T currentScenario;
+    private Iterator<? extends T> examples;
+    private T currentExample;
+
+    private T failedNode;
+    private Throwable failure;
+
+    public ScenarioLevelReporter(TestTree<T> tree, ExecutionListener<T> listener, T root, Configuration configuration) {
+        super(tree, listener, root, configuration);
+    }
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory) {
+        if (givenStory) {
+            this.givenStories++;
+        } else {
+            for (T node : tree.getChildren(root)) {
+                if (tree.isContainer(node)
+                    && storyIsEligibleAs(node, story.getName())) {
+                    currentStory = node;
+                    listener.started(currentStory);
+                    scenarios = tree.getChildren(currentStory).iterator();
+                }
+            }
+        }
+        super.beforeStory(story, givenStory);
+    }
+
+    @Override
+    public void afterStory(boolean givenOrRestartingStory) {
+        super.afterStory(givenOrRestartingStory);
+        if (isAGivenStory()) {
+            this.givenStories--;
+        } else if (nonNull(currentStory)) {
+            finish(currentStory);
+            currentStory = null;
+            scenarios = null;
+        }
+    }
+
+    @Override
+    public void beforeScenario(Scenario scenario) {
+        if (notAGivenStory() && nonNull(scenarios) && scenarios.hasNext()) {
+            currentScenario = scenarios.next();
+            examples = tree.getChildren(currentScenario).iterator();
+            listener.started(currentScenario);
+        }
+        super.beforeScenario(scenario);
+    }
+
+    @Override
+    public void example(Map<String, String> tableRow, int exampleIndex) {
+        if (notAGivenStory() && nonNull(currentScenario)) {
+            finishExample();
+            if (examples.hasNext()) {
+                currentExample = examples.next();
+                listener.started(currentExample);
+            }
+        }
+        super.example(tableRow, exampleIndex);
+    }
+
+    @Override
+    public void afterExamples() {
+        if (notAGivenStory()) {
+            finishExample();
+        }
+        super.afterExamples();
+    }
+
+    @Override
+    public void afterScenario(Timing timing) {
+        super.afterScenario(timing);
+        if (notAGivenStory() && nonNull(currentScenario)) {
+            finishExample();
+            finish(currentScenario);
+            currentScenario = null;
+        }
+    }
+
+    @Override
+    public void failed(String step, Throwable cause) {
+        if (cause instanceof UUIDExceptionWrapper) {
+            cause = cause.getCause();
+        }
+        super.failed(step, cause);
+        markFailed(cause);
+    }
+
+    @Override
+    public void pending(String step) {
+        super.pending(step);
+        markFailed(new PendingStepFound(step));
+    }
+
+    private void markFailed(Throwable cause) {
+        T node = currentExample != null ? currentExample
+            : currentScenario != null ? currentScenario : currentStory;
+        // only the first failure of a test is reported, the following steps are not performed anyway
+        if (nonNull(node) && failedNode != node) {
+            failedNode = node;
+            failure = cause;
+        }
+    }
+
+    private void finishExample() {
+        if (nonNull(currentExample)) {
+            finish(currentExample);
+            currentExample = null;
+        }
+    }
+
+    private void finish(T node) {
+        if (node == failedNode) {
+            listener.finished(node, failure);
+            failedNode = null;
+            failure = null;
+        } else {
+            listener.finished(node, null);
+        }
+    }
+}
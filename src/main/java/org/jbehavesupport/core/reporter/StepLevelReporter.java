@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.failures.UUIDExceptionWrapper;
+import org.jbehave.core.model.Lifecycle;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Step;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.StepCollector;
+import org.jbehave.core.steps.StepCreator.StepExecutionType;
+import org.jbehave.core.steps.Timing;
+import org.jbehavesupport.core.tree.TestTree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+public class StepLevelReporter<T> extends AbstractTreeReporter<T> {
+
+    private T currentStory;
+    private Iterator<? extends T> scenarios;
+    private T currentScenario;
+    private Iterator<T> examples;
+    private T currentExample;
+    private Iterator<T> steps;
+    private Deque<T> currentStep = new ArrayDeque<>();
+
+    private boolean isInBeforeStories = false;
+    private boolean isInBeforeScenario = false;
+    private boolean isInAfterScenario = false;
+    private boolean isInAfterStories = false;
+    private boolean isInMainScenario = false;
+
+    public StepLevelReporter(TestTree<T> tree, ExecutionListener<T> listener, T root, Configuration configuration) {
+        super(tree, listener, root, configuration);
+    }
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory) {
+        if (givenStory) {
+            if (notAGivenStory()) {
+                currentStep.push(hasNextSteps() ? steps.next() : scenarios.next());
+                listener.started(currentStep.peek());
+            }
+            this.givenStories++;
+        } else {
+            beforeStory(story);
+        }
+        super.beforeStory(story, givenStory);
+    }
+
+    private boolean hasNextSteps() {
+        return nonNull(steps) && steps.hasNext();
+    }
+
+    private void beforeStory(Story story) {
+        for (T node : tree.getChildren(root)) {
+            if (tree.isContainer(node)
+                && storyIsEligibleAs(node, story.getName())) {
+                currentStory = node;
+                listener.started(currentStory);
+                scenarios = tree.getChildren(currentStory).iterator();
+            }
+        }
+    }
+
+    @Override
+    public void beforeStoriesSteps(StepCollector.Stage stage) {
+        switch (stage) {
+            case BEFORE:
+                isInBeforeStories = true;
+                handleBeforeAfterStoriesExecution(BEFORE_STORIES, true);
+                break;
+            case AFTER:
+                isInAfterStories = true;
+                handleBeforeAfterStoriesExecution(AFTER_STORIES, true);
+                break;
+            default:
+                throw new IllegalStateException("StepCollector Stage should not exists: " + stage);
+        }
+        super.beforeStoriesSteps(stage);
+    }
+
+    @Override
+    public void afterStoriesSteps(StepCollector.Stage stage) {
+        switch (stage) {
+            case BEFORE:
+                isInBeforeStories = false;
+                handleBeforeAfterStoriesExecution(BEFORE_STORIES, false);
+                break;
+            case AFTER:
+                isInAfterStories = false;
+                handleBeforeAfterStoriesExecution(AFTER_STORIES, false);
+                break;
+            default:
+                throw new IllegalStateException("StepCollector Stage should not exists: " + stage);
+        }
+        super.afterStoriesSteps(stage);
+    }
+
+    private void handleBeforeAfterStoriesExecution(String storyName, boolean start) {
+        for (T node : tree.getChildren(root)) {
+            if (!tree.isContainer(node) && testIsEligibleAs(node, storyName)) {
+                currentStory = node;
+                if (start) {
+                    listener.started(currentStory);
+                } else {
+                    listener.finished(currentStory);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void afterStory(boolean givenOrRestartingStory) {
+        super.afterStory(givenOrRestartingStory);
+        if (this.givenStories == 1) {
+            listener.finished(currentStep.pop());
+            this.givenStories--;
+        } else if (isAGivenStory()) {
+            this.givenStories--;
+        } else if (nonNull(currentStory)) {
+            listener.finished(currentStory);
+        }
+    }
+
+    @Override
+    public void beforeScenario(Scenario scenario) {
+        if (notAGivenStory() && (!isInBeforeStories || !isInAfterStories)) {
+            currentScenario = scenarios.next();
+            Collection<? extends T> children = tree.getChildren(currentScenario);
+            steps = getAllChildren(children, new ArrayList<>()).iterator();
+            examples = getAllExamples(children).iterator();
+            listener.started(currentScenario);
+            isInMainScenario = true;
+            super.beforeScenario(scenario);
+        }
+    }
+
+    @Override
+    public void beforeScenarioSteps(StepCollector.Stage stage, Lifecycle.ExecutionType cycle){
+        // as in jbehave-core v5.0:
+        // Always trigger StoryReporter.beforeStep(Step) hook and report all outcomes (previously only failures were reported, successful outcome was silent) for methods annotated with @BeforeStories, @AfterStories, @BeforeStory, @AfterStory, @BeforeScenario, @AfterScenario
+        // @BeforeScenario steps are executed between cycle SYSTEM and stage BEFORE and next stage, so we won't report steps in this combination
+        if (cycle == Lifecycle.ExecutionType.SYSTEM && stage == StepCollector.Stage.BEFORE) {
+            isInBeforeScenario = true;
+        } else {
+            isInBeforeScenario = false;
+        }
+        super.beforeScenarioSteps(stage, cycle);
+    }
+
+    @Override
+    public void afterScenarioSteps(StepCollector.Stage stage, Lifecycle.ExecutionType cycle){
+        // as in jbehave-core v5.0:
+        // Always trigger StoryReporter.beforeStep(Step) hook and report all outcomes (previously only failures were reported, successful outcome was silent) for methods annotated with @BeforeStories, @AfterStories, @BeforeStory, @AfterStory, @BeforeScenario, @AfterScenario
+        // @AfterScenario steps are executed between cycle USER and stage AFTER and next stage, so we won't report steps in this combination
+        if (cycle == Lifecycle.ExecutionType.USER && stage == StepCollector.Stage.AFTER) {
+            isInAfterScenario = true;
+        } else if (cycle == Lifecycle.ExecutionType.SYSTEM && stage == StepCollector.Stage.AFTER) {
+            isInAfterScenario = false;
+        }
+        super.beforeScenarioSteps(stage, cycle);
+    }
+
+    private List<T> getAllExamples(Collection<? extends T> children) {
+        List<T> result = new ArrayList<>();
+        for (T child : children) {
+            if (isExample(child)) {
+                result.add(child);
+            }
+        }
+        return result;
+    }
+
+    private boolean isExample(T node) {
+       return tree.getDisplayName(node).startsWith(configuration.keywords().examplesTableRow() + " ");
+    }
+
+    private List<T> getAllChildren(Collection<? extends T> children, List<T> result) {
+        for (T node : children) {
+            if (tree.isContainer(node) && !isExample(node)) {
+                result.add(node);
+                getAllChildren(tree.getChildren(node), result);
+            } else if (tree.isContainer(node)) {
+                getAllChildren(tree.getChildren(node), result);
+            } else {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void afterScenario(Timing timing) {
+        super.afterScenario(timing);
+        if (notAGivenStory() && (!isInBeforeStories || !isInAfterStories)) {
+            listener.finished(currentScenario);
+            // main scenario starts before given stories are run,
+            // so we need to handle the case of afterScenario of given story
+            if (notAGivenStory()) {
+                isInMainScenario = false;
+            }
+        }
+    }
+
+    @Override
+    public void beforeStep(Step step) {
+        if (StepExecutionType.EXECUTABLE == step.getExecutionType() && shouldReportStep()) {
+            currentStep.push(steps.next());
+            listener.started(currentStep.peek());
+        }
+        super.beforeStep(step);
+    }
+
+    @Override
+    public void successful(String step) {
+        super.successful(step);
+        if (shouldReportStep()) {
+            listener.finished(currentStep.pop());
+        }
+    }
+
+    @Override
+    public void failed(String step, Throwable cause) {
+        if (cause instanceof UUIDExceptionWrapper) {
+            cause = cause.getCause();
+        }
+        super.failed(step, cause);
+        listener.failed(currentStep.peek(), cause);
+        if (shouldReportStep()) {
+            listener.finished(currentStep.peek());
+        }
+    }
+
+    @Override
+    public void notPerformed(String step) {
+        super.notPerformed(step);
+        if (shouldReportStep()) {
+            currentStep.push(steps.next());
+            listener.skipped(currentStep.peek(), "Not performed");
+        }
+    }
+
+    @Override
+    public void pending(String step) {
+        super.pending(step);
+        if (shouldReportStep()) {
+            currentStep.push(steps.next());
+            listener.pending(currentStep.peek(), step);
+        }
+    }
+
+    @Override
+    public void example(Map<String, String> tableRow, int exampleIndex) {
+        if (shouldReportStep()) {
+            if (nonNull(currentExample)) {
+                listener.finished(currentExample);
+            }
+            currentExample = examples.next();
+            listener.started(currentExample);
+        }
+        super.example(tableRow, exampleIndex);
+    }
+
+    @Override
+    public void afterExamples() {
+        if (shouldReportStep()) {
+            listener.finished(currentExample);
+        }
+        super.afterExamples();
+    }
+
+    @Override
+    public void ignorable(String step) {
+        super.ignorable(step);
+        if (shouldReportStep()) {
+            currentStep.push(steps.next());
+            listener.skipped(currentStep.peek(), "Ignored");
+        }
+    }
+
+    private boolean shouldReportStep() {
+        // not a given story
+        // not in before stories or after stories
+        // not in before scenario or after scenario
+        // and is in scenario of the main story (e.g. not some custom before story hook on method or something like that)
+        return notAGivenStory()
+            && (!isInBeforeStories || !isInAfterStories)
+            && !isInBeforeScenario
+            && !isInAfterScenario
+            && isInMainScenario;
+    }
+
+}
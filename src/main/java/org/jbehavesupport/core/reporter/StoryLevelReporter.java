@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.failures.PendingStepFound;
+import org.jbehave.core.failures.UUIDExceptionWrapper;
+import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.tree.TestTree;
+
+import static java.util.Objects.nonNull;
+
+public class StoryLevelReporter<T> extends AbstractTreeReporter<T> {
+
+    private T currentStory;
+
+    public StoryLevelReporter(TestTree<T> tree, ExecutionListener<T> listener, T root, Configuration configuration) {
+        super(tree, listener, root, configuration);
+    }
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory) {
+        if (givenStory) {
+            this.givenStories++;
+        } else {
+            for (T node : tree.getChildren(root)) {
+                if (!tree.isContainer(node)
+                    && storyIsEligibleAs(node, story.getName())) {
+                    currentStory = node;
+                    listener.started(currentStory);
+                }
+            }
+        }
+        super.beforeStory(story, givenStory);
+    }
+
+    @Override
+    public void afterStory(boolean givenOrRestartingStory) {
+        super.afterStory(givenOrRestartingStory);
+        if (isAGivenStory()) {
+            this.givenStories--;
+        } else if (nonNull(currentStory)) {
+            listener.finished(currentStory);
+            currentStory = null;
+        }
+    }
+
+    @Override
+    public void failed(String step, Throwable cause) {
+        if (cause instanceof UUIDExceptionWrapper) {
+            cause = cause.getCause();
+        }
+        super.failed(step, cause);
+        listener.failed(currentStory, cause);
+    }
+
+    @Override
+    public void pending(String step) {
+        super.pending(step);
+        listener.failed(currentStory, new PendingStepFound(step));
+    }
+}
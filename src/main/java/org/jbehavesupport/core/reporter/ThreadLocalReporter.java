@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter;
+
+import org.jbehave.core.reporters.DelegatingStoryReporter;
+import org.jbehave.core.reporters.StoryReporter;
+import org.jbehave.core.reporters.ThreadSafeReporter;
+
+import java.util.AbstractCollection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Reporter for stories running in parallel. Every thread gets its own reporter from the factory,
+ * so the state of the tree reporters is never shared between stories running at the same time.
+ * Being a {@link ThreadSafeReporter} it is notified immediately and not after the story has finished.
+ */
+public class ThreadLocalReporter extends DelegatingStoryReporter implements ThreadSafeReporter {
+
+    public ThreadLocalReporter(Supplier<? extends StoryReporter> reporterFactory) {
+        super(new CurrentThreadReporter(ThreadLocal.withInitial(reporterFactory)));
+    }
+
+    private static final class CurrentThreadReporter extends AbstractCollection<StoryReporter> {
+
+        private final ThreadLocal<? extends StoryReporter> reporter;
+
+        private CurrentThreadReporter(ThreadLocal<? extends StoryReporter> reporter) {
+            this.reporter = reporter;
+        }
+
+        @Override
+        public Iterator<StoryReporter> iterator() {
+            return Collections.<StoryReporter>singleton(reporter.get()).iterator();
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.tree;
+
+import lombok.Getter;
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehave.core.steps.StepCandidate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the tree of tests of a {@link PerformableTree} through a {@link TestTreeFactory}.
+ * A builder keeps the generated names to make them unique, so it is used for one tree only.
+ */
+public abstract class AbstractTreeBuilder<T> {
+
+    public static final String STORIES_BEFORE = "BeforeStories";
+    public static final String STORIES_AFTER = "AfterStories";
+
+    @Getter
+    private final List<StepCandidate> stepCandidates = new ArrayList<>();
+
+    @Getter
+    private Keywords keywords = new Keywords();
+
+    @Getter
+    private boolean parallelStories;
+
+    public AbstractTreeBuilder<T> withCandidateSteps(List<CandidateSteps> candidateSteps) {
+        for (CandidateSteps candidateStep : candidateSteps) {
+            stepCandidates.addAll(candidateStep.listCandidates());
+        }
+        return this;
+    }
+
+    public AbstractTreeBuilder<T> withKeywords(Keywords keywords) {
+        this.keywords = keywords;
+        return this;
+    }
+
+    /**
+     * Stories are processed in parallel, the resulting tree is the same as of the sequential processing.
+     */
+    public AbstractTreeBuilder<T> withParallelStories(boolean parallelStories) {
+        this.parallelStories = parallelStories;
+        return this;
+    }
+
+    /**
+     * @return top level nodes of the tree
+     */
+    public abstract List<T> build(TestTreeFactory<T> factory, PerformableTree story);
+
+    /**
+     * Builds the top level nodes of the stories of the given paths only, the stories do not need to be loaded.
+     * Their scenarios and steps are the children of the nodes built by {@link #build} for the same stories.
+     */
+    public abstract List<T> buildStories(TestTreeFactory<T> factory, List<String> storyPaths);
+}
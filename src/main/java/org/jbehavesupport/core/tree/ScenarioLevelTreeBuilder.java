@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.tree;
+
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehavesupport.core.EmbedderSupport;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.jbehavesupport.core.TextFormatter.buildExampleText;
+import static org.jbehavesupport.core.TextFormatter.buildScenarioText;
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+
+public class ScenarioLevelTreeBuilder<T> extends AbstractTreeBuilder<T> {
+
+    private UniqueDescriptionGenerator descriptions = new UniqueDescriptionGenerator();
+
+    @Override
+    public List<T> build(TestTreeFactory<T> factory, PerformableTree story) {
+        return story.getRoot()
+            .getStories()
+            .stream()
+            .map(performableStory -> createStory(factory, performableStory))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<T> buildStories(TestTreeFactory<T> factory, List<String> storyPaths) {
+        return storyPaths.stream()
+            .map(storyPath -> createStory(factory, EmbedderSupport.getStoryName(storyPath), storyPath))
+            .collect(Collectors.toList());
+    }
+
+    private T createStory(TestTreeFactory<T> factory, String storyName, String storyPath) {
+        T story = factory.createStory(descriptions.getUnique(buildStoryText(storyName)));
+        factory.addStoryPath(story, storyPath);
+        return story;
+    }
+
+    private T createStory(TestTreeFactory<T> factory, PerformableTree.PerformableStory performableStory) {
+        T story = createStory(factory, performableStory.getStory().getName(), performableStory.getStory().getPath());
+        factory.addMeta(story, performableStory.getStory().getMeta());
+        List<PerformableTree.PerformableScenario> performableScenarios = performableStory.getScenarios();
+        for (int i = 0; i < performableScenarios.size(); i++) {
+            T scenario = createScenario(factory, performableScenarios.get(i));
+            factory.addScenarioIndex(scenario, i);
+            factory.addChild(story, scenario);
+        }
+        return story;
+    }
+
+    private T createScenario(TestTreeFactory<T> factory, PerformableTree.PerformableScenario performableScenario) {
+        String scenarioText = descriptions.getUnique(buildScenarioText(getKeywords(), performableScenario.getScenario().getTitle()));
+        if (!performableScenario.hasExamples()) {
+            T scenario = factory.createScenario(scenarioText, false);
+            factory.addMeta(scenario, performableScenario.getScenario().getMeta());
+            return scenario;
+        }
+        T scenario = factory.createScenario(scenarioText, true);
+        factory.addMeta(scenario, performableScenario.getScenario().getMeta());
+        performableScenario.getExamples()
+            .forEach(examplePerformableScenario -> {
+                String exampleText = buildExampleText(getKeywords(), examplePerformableScenario.getParameters().toString());
+                factory.addChild(scenario, factory.createExample(descriptions.getUnique(exampleText), false));
+            });
+        return scenario;
+    }
+}
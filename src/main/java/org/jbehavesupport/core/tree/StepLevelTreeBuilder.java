@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.tree;
+
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.model.GivenStories;
+import org.jbehave.core.steps.StepCandidate;
+import org.jbehave.core.steps.StepType;
+import org.jbehavesupport.core.EmbedderSupport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.nonNull;
+import static org.jbehavesupport.core.TextFormatter.buildExampleText;
+import static org.jbehavesupport.core.TextFormatter.buildScenarioText;
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.jbehavesupport.core.TextFormatter.normalizeStep;
+import static org.jbehavesupport.core.TextFormatter.normalizeStoryName;
+
+public class StepLevelTreeBuilder<T> extends AbstractTreeBuilder<T> {
+
+    private UniqueDescriptionGenerator descriptions = new UniqueDescriptionGenerator();
+    private TestTreeFactory<T> factory;
+    private Iterator<StepCandidate> matchedSteps;
+
+    /**
+     * The steps of the stories are matched first, in parallel when enabled, the nodes are then created one story after
+     * another, so the unique names are always assigned in the order of the stories.
+     */
+    @Override
+    public List<T> build(TestTreeFactory<T> factory, PerformableTree story) {
+        this.factory = factory;
+        List<PerformableTree.PerformableStory> performableStories = story.getRoot().getStories();
+        List<List<StepCandidate>> storiesMatchedSteps = (isParallelStories() ? performableStories.parallelStream() : performableStories.stream())
+            .map(this::matchSteps)
+            .collect(Collectors.toList());
+        List<T> stories = new ArrayList<>();
+        for (int i = 0; i < performableStories.size(); i++) {
+            matchedSteps = storiesMatchedSteps.get(i).iterator();
+            stories.add(createStory(performableStories.get(i)));
+        }
+        return withStoriesSteps(stories);
+    }
+
+    @Override
+    public List<T> buildStories(TestTreeFactory<T> factory, List<String> storyPaths) {
+        this.factory = factory;
+        return withStoriesSteps(storyPaths.stream()
+            .map(storyPath -> createStory(EmbedderSupport.getStoryName(storyPath), storyPath))
+            .collect(Collectors.toList()));
+    }
+
+    private List<T> withStoriesSteps(List<T> stories) {
+        stories.add(0, factory.createStoriesSteps(STORIES_BEFORE));
+        stories.add(factory.createStoriesSteps(STORIES_AFTER));
+        return stories;
+    }
+
+    private T createStory(String storyName, String storyPath) {
+        T story = factory.createStory(descriptions.getUnique(buildStoryText(storyName)));
+        factory.addStoryPath(story, storyPath);
+        return story;
+    }
+
+    private T createStory(PerformableTree.PerformableStory performableStory) {
+        T story = createStory(performableStory.getStory().getName(), performableStory.getStory().getPath());
+        factory.addMeta(story, performableStory.getStory().getMeta());
+        addGivenStories(story, performableStory.getStory().getGivenStories());
+        List<PerformableTree.PerformableScenario> performableScenarios = performableStory.getScenarios();
+        for (int i = 0; i < performableScenarios.size(); i++) {
+            T scenario = createScenario(performableScenarios.get(i));
+            factory.addScenarioIndex(scenario, i);
+            factory.addChild(story, scenario);
+        }
+        return story;
+    }
+
+    private T createScenario(PerformableTree.PerformableScenario performableScenario) {
+        String scenarioText = buildScenarioText(getKeywords(), performableScenario.getScenario().getTitle());
+        T scenario = factory.createScenario(scenarioText, true);
+        factory.addMeta(scenario, performableScenario.getScenario().getMeta());
+        if (performableScenario.hasExamples()) {
+            performableScenario.getExamples()
+                .forEach(examplePerformableScenario -> {
+                    String exampleString = buildExampleText(getKeywords(), examplePerformableScenario.getParameters().toString());
+                    T example = factory.createExample(descriptions.getUnique(exampleString), true);
+                    performableScenario.getScenario()
+                        .getSteps()
+                        .forEach(step -> addIfNotAComment(example, step));
+                    factory.addChild(scenario, example);
+                });
+        } else {
+            addGivenStories(scenario, performableScenario.getScenario().getGivenStories());
+            performableScenario.getScenario()
+                .getSteps()
+                .forEach(step -> addIfNotAComment(scenario, step));
+        }
+        return scenario;
+    }
+
+    private void addIfNotAComment(T parent, String step) {
+        if (isNotAComment(step)) {
+            factory.addChild(parent, createStep(step));
+        }
+    }
+
+    private void addGivenStories(T parent, GivenStories givenStories) {
+        givenStories.getStories()
+            .forEach(givenStory -> {
+                String storyString = normalizeStoryName(givenStory.getPath());
+                factory.addChild(parent, factory.createGivenStory(descriptions.getUnique(storyString)));
+            });
+    }
+
+    private T createStep(String step) {
+        StepCandidate stepCandidate = matchedSteps.next();
+        String uniqueStep = descriptions.getUnique(normalizeStep(step));
+        if (stepCandidate == null) {
+            return factory.createStep(uniqueStep, null);
+        }
+        if (!stepCandidate.isComposite()) {
+            return factory.createStep(uniqueStep, stepCandidate.getStepsType(), stepCandidate.getMethod());
+        }
+        T compositeStep = factory.createCompositeStep(uniqueStep, stepCandidate.getStepsType(), stepCandidate.getMethod());
+        Arrays.stream(stepCandidate.composedSteps())
+            .forEach(childStep -> addIfNotAComment(compositeStep, childStep));
+        return compositeStep;
+    }
+
+    /**
+     * @return candidates of the steps of the story in the order the steps are created, {@code null} for a step
+     * without a candidate
+     */
+    private List<StepCandidate> matchSteps(PerformableTree.PerformableStory performableStory) {
+        StepMatcher stepMatcher = new StepMatcher();
+        performableStory.getScenarios()
+            .forEach(performableScenario -> {
+                int runs = performableScenario.hasExamples() ? performableScenario.getExamples().size() : 1;
+                for (int i = 0; i < runs; i++) {
+                    performableScenario.getScenario()
+                        .getSteps()
+                        .forEach(stepMatcher::matchIfNotAComment);
+                }
+            });
+        return stepMatcher.matchedSteps;
+    }
+
+    private boolean isNotAComment(final String stringStepOneLine) {
+        boolean result;
+        if (getStepCandidates().isEmpty()) {
+            result = true;
+        } else {
+            result = !getStepCandidates().get(0).comment(stringStepOneLine);
+        }
+        return result;
+    }
+
+    /**
+     * Matches the steps of one story, an And step is matched by the type of the previous step of the story.
+     */
+    private final class StepMatcher {
+
+        private final List<StepCandidate> matchedSteps = new ArrayList<>();
+        private String previousNonAndStep;
+
+        private void matchIfNotAComment(String step) {
+            if (!isNotAComment(step)) {
+                return;
+            }
+            StepCandidate stepCandidate = findCandidateStep(step);
+            matchedSteps.add(stepCandidate);
+            if (nonNull(stepCandidate) && stepCandidate.isComposite()) {
+                Arrays.stream(stepCandidate.composedSteps()).forEach(this::matchIfNotAComment);
+            }
+        }
+
+        private StepCandidate findCandidateStep(String step) {
+            StepCandidate resultStepCandidate = getStepCandidates().stream()
+                .filter(stepCandidate -> stepCandidate.matches(step, previousNonAndStep))
+                .findFirst()
+                .orElse(null);
+            if (nonNull(resultStepCandidate) && resultStepCandidate.getStepType() != StepType.AND) {
+                previousNonAndStep = resultStepCandidate.getStartingWord() + " ";
+            }
+            return resultStepCandidate;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.tree;
+
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.EmbedderSupport;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StoryLevelTreeBuilder<T> extends AbstractTreeBuilder<T> {
+
+    private UniqueDescriptionGenerator descriptions = new UniqueDescriptionGenerator();
+
+    /**
+     * The stories are reported as single tests, so they get the meta of the story and the meta of all its scenarios.
+     */
+    @Override
+    public List<T> build(TestTreeFactory<T> factory, PerformableTree story) {
+        return story.getRoot()
+            .getStories()
+            .stream()
+            .map(performableStory -> {
+                Story performedStory = performableStory.getStory();
+                T storyTest = createStory(factory, performedStory.getName(), performedStory.getPath());
+                factory.addMeta(storyTest, performedStory.getMeta());
+                for (Scenario scenario : performedStory.getScenarios()) {
+                    factory.addMeta(storyTest, scenario.getMeta());
+                }
+                return storyTest;
+            })
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<T> buildStories(TestTreeFactory<T> factory, List<String> storyPaths) {
+        return storyPaths.stream()
+            .map(storyPath -> createStory(factory, EmbedderSupport.getStoryName(storyPath), storyPath))
+            .collect(Collectors.toList());
+    }
+
+    private T createStory(TestTreeFactory<T> factory, String storyName, String storyPath) {
+        T story = factory.createStoryTest(descriptions.getUnique(storyName));
+        factory.addStoryPath(story, storyPath);
+        return story;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.tree;
+
+import org.jbehave.core.model.Meta;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates the nodes of a framework specific tree of tests. The names are already formatted and unique,
+ * the factory only decides how the node is represented by the test framework.
+ *
+ * @param <T> node of the tree, e.g. JUnit 4 description or JUnit 5 test descriptor
+ */
+public interface TestTreeFactory<T> {
+
+    /**
+     * Top level node for BeforeStories and AfterStories steps.
+     */
+    T createStoriesSteps(String name);
+
+    /**
+     * Top level story containing scenarios.
+     */
+    T createStory(String name);
+
+    /**
+     * Top level story reported as a single test.
+     */
+    T createStoryTest(String name);
+
+    T createGivenStory(String name);
+
+    T createScenario(String name, boolean container);
+
+    T createExample(String name, boolean container);
+
+    T createCompositeStep(String name);
+
+    /**
+     * @param stepsType class of the steps instance performing the composite step
+     * @param stepMethod method declaring the composed steps
+     */
+    default T createCompositeStep(String name, Class<?> stepsType, Method stepMethod) {
+        return createCompositeStep(name);
+    }
+
+    /**
+     * @param stepsType class declaring the step, {@code null} when no step matches
+     */
+    T createStep(String name, Class<?> stepsType);
+
+    /**
+     * @param stepsType class of the steps instance performing the step
+     * @param stepMethod method performing the step
+     */
+    default T createStep(String name, Class<?> stepsType, Method stepMethod) {
+        return createStep(name, stepsType);
+    }
+
+    /**
+     * Attaches the meta of a story or scenario to its node, the meta is ignored by default.
+     */
+    default void addMeta(T node, Meta meta) {
+    }
+
+    /**
+     * Records the path of the story a top level story node was built from, the path is ignored by default.
+     */
+    default void addStoryPath(T node, String storyPath) {
+    }
+
+    /**
+     * Records the index of the scenario within the scenarios of its story a scenario node was built from,
+     * the index is ignored by default.
+     */
+    default void addScenarioIndex(T node, int scenarioIndex) {
+    }
+
+    void addChild(T parent, T child);
+}
@@ -19,9 +19,13 @@
 package org.jbehavesupport.engine;
 
 import lombok.SneakyThrows;
+import org.jbehavesupport.engine.descriptor.JBehaveEngineDescriptor;
 import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
 import org.jbehavesupport.engine.discovery.JBehaveDiscoverer;
+import org.jbehavesupport.engine.executor.IncrementalExecution;
 import org.jbehavesupport.engine.executor.JBehaveExecutor;
+import org.jbehavesupport.engine.executor.StoryBatches;
+import org.jbehavesupport.engine.reporter.EventLogListener;
 import org.junit.platform.engine.EngineDiscoveryRequest;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
@@ -29,8 +33,12 @@ import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.engine.UniqueId;
 
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.platform.engine.TestExecutionResult.successful;
@@ -38,6 +46,7 @@ import static org.junit.platform.engine.TestExecutionResult.successful;
 public final class JBehaveTestEngine implements TestEngine  {
 
     public static final String COMPARATOR_PROPERTY = "jbehave.execution.order.comparator";
+    public static final String BATCH_PROPERTY = "jbehave.execution.batch";
 
     @Override
 	public String getId() {
@@ -64,10 +73,37 @@ public final class JBehaveTestEngine implements TestEngine  {
         Optional<Comparator<TestDescriptor>> sortingComparator = request.getConfigurationParameters()
             .get(COMPARATOR_PROPERTY, JBehaveTestEngine::getComparatorInstance);
 
-        EngineExecutionListener engineExecutionListener = request.getEngineExecutionListener();
+        Optional<EventLogListener> eventLogListener = request.getConfigurationParameters()
+            .get(EventLogListener.EVENT_LOG_PROPERTY, path -> new EventLogListener(request.getEngineExecutionListener(), Paths.get(path)));
+        Optional<IncrementalExecution> incrementalExecution = request.getConfigurationParameters()
+            .get(IncrementalExecution.INCREMENTAL_PROPERTY, path -> IncrementalExecution.load(Paths.get(path)));
+        boolean batch = request.getConfigurationParameters().getBoolean(BATCH_PROPERTY).orElse(false);
+        try {
+            EngineExecutionListener engineExecutionListener = eventLogListener.isPresent()
+                ? eventLogListener.get()
+                : request.getEngineExecutionListener();
+            if (incrementalExecution.isPresent()) {
+                engineExecutionListener = incrementalExecution.get().listener(engineExecutionListener);
+            }
+            execute(request, engineExecutionListener, sortingComparator, batch, incrementalExecution);
+        } finally {
+            try {
+                incrementalExecution.ifPresent(IncrementalExecution::save);
+            } finally {
+                eventLogListener.ifPresent(EventLogListener::close);
+            }
+        }
+    }
+
+    private void execute(ExecutionRequest request, EngineExecutionListener engineExecutionListener,
+                         Optional<Comparator<TestDescriptor>> sortingComparator, boolean batch,
+                         Optional<IncrementalExecution> incrementalExecution) {
         TestDescriptor engineDescriptor = request.getRootTestDescriptor();
+        if (engineDescriptor instanceof JBehaveEngineDescriptor) {
+            ((JBehaveEngineDescriptor) engineDescriptor).removeFilteredStories();
+        }
         engineExecutionListener.executionStarted(engineDescriptor);
-        JBehaveExecutor jBehaveExecutor = new JBehaveExecutor(request);
+        JBehaveExecutor jBehaveExecutor = new JBehaveExecutor(request, engineExecutionListener, incrementalExecution);
         Stream<? extends JBehaveTestDescriptor> testDescriptorStream = engineDescriptor.getChildren()
             .stream()
             .map(JBehaveTestDescriptor.class::cast)
@@ -76,7 +112,15 @@ public final class JBehaveTestEngine implements TestEngine  {
         if (sortingComparator.isPresent()) {
             testDescriptorStream = testDescriptorStream.sorted(sortingComparator.get());
         }
-        testDescriptorStream.forEach(jBehaveExecutor::execute);
+        List<List<JBehaveTestDescriptor>> batches;
+        if (batch) {
+            batches = StoryBatches.group(testDescriptorStream.collect(Collectors.toList()));
+        } else {
+            batches = testDescriptorStream
+                .map(testDescriptor -> Collections.<JBehaveTestDescriptor>singletonList(testDescriptor))
+                .collect(Collectors.toList());
+        }
+        jBehaveExecutor.executeBatches(batches);
 
         engineExecutionListener.executionFinished(engineDescriptor, successful());
     }
@@ -16,7 +16,6 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.jbehavesupport.engine.descriptor;
 
 import lombok.Getter;
@@ -25,16 +24,22 @@ import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.embedder.PerformableTree;
 import org.jbehave.core.steps.CandidateSteps;
 import org.jbehave.core.steps.StepCandidate;
+import org.jbehavesupport.core.tree.AbstractTreeBuilder;
 import org.junit.platform.engine.UniqueId;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * @deprecated the engine builds its descriptors by the tree builders of {@link AbstractTreeBuilder}, which are shared
+ * by the runner and the engine
+ */
+@Deprecated
 @RequiredArgsConstructor
 public abstract class AbstractDescriptorBuilder implements DescriptorBuilder {
 
-    public static final String STORIES_BEFORE = "BeforeStories";
-    public static final String STORIES_AFTER= "AfterStories";
+    public static final String STORIES_BEFORE = AbstractTreeBuilder.STORIES_BEFORE;
+    public static final String STORIES_AFTER = AbstractTreeBuilder.STORIES_AFTER;
 
     @Getter
     private final List<StepCandidate> stepCandidates = new ArrayList<>();
@@ -59,6 +64,13 @@ public abstract class AbstractDescriptorBuilder implements DescriptorBuilder {
         return this;
     }
 
+    /**
+     * The descriptors of these builders do not depend on the stories running in parallel.
+     */
+    @Override
+    public DescriptorBuilder withParallelStories(boolean parallelStories) {
+        return this;
+    }
+
     protected abstract JBehaveTestDescriptor createStoryDescriptor(UniqueId parentId, PerformableTree.PerformableStory performableStory);
 }
-
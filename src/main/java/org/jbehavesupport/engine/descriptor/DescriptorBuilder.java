@@ -30,5 +30,7 @@ public interface DescriptorBuilder {
 
     DescriptorBuilder withKeywords(Keywords keywords);
 
+    DescriptorBuilder withParallelStories(boolean parallelStories);
+
     StoryResult buildDescriptor(UniqueId parentId);
 }
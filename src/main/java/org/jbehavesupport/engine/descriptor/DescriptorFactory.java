@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.descriptor;
+
+import org.jbehave.core.model.Meta;
+import org.jbehavesupport.core.tree.TestTreeFactory;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+
+import java.lang.reflect.Method;
+import java.util.TreeSet;
+
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_SCENARIO;
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_STEP;
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_STORY;
+
+/**
+ * Creates JUnit 5 descriptors, top level stories get their unique id from the given parent,
+ * the nested descriptors build it on demand.
+ */
+public class DescriptorFactory implements TestTreeFactory<JBehaveTestDescriptor> {
+
+    private final UniqueId parentId;
+    private final boolean dynamicStories;
+
+    public DescriptorFactory(UniqueId parentId) {
+        this(parentId, false);
+    }
+
+    /**
+     * @param dynamicStories stories are created as containers whose scenarios are registered during the execution
+     */
+    public DescriptorFactory(UniqueId parentId, boolean dynamicStories) {
+        this.parentId = parentId;
+        this.dynamicStories = dynamicStories;
+    }
+
+    @Override
+    public JBehaveTestDescriptor createStoriesSteps(String name) {
+        return new JBehaveTestDescriptor(parentId.append(SEGMENT_TYPE_STORY, name), name);
+    }
+
+    @Override
+    public JBehaveTestDescriptor createStory(String name) {
+        return new JBehaveTestDescriptor(parentId.append(SEGMENT_TYPE_STORY, name), name, dynamicStories);
+    }
+
+    @Override
+    public JBehaveTestDescriptor createStoryTest(String name) {
+        return new JBehaveTestDescriptor(parentId.append(SEGMENT_TYPE_STORY, name), buildStoryText(name));
+    }
+
+    @Override
+    public JBehaveTestDescriptor createGivenStory(String name) {
+        return new JBehaveTestDescriptor(SEGMENT_TYPE_STORY, name);
+    }
+
+    @Override
+    public JBehaveTestDescriptor createScenario(String name, boolean container) {
+        return new JBehaveTestDescriptor(SEGMENT_TYPE_SCENARIO, name);
+    }
+
+    @Override
+    public JBehaveTestDescriptor createExample(String name, boolean container) {
+        return new JBehaveTestDescriptor(SEGMENT_TYPE_SCENARIO, name);
+    }
+
+    @Override
+    public JBehaveTestDescriptor createCompositeStep(String name) {
+        return new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, name);
+    }
+
+    @Override
+    public JBehaveTestDescriptor createCompositeStep(String name, Class<?> stepsType, Method stepMethod) {
+        JBehaveTestDescriptor compositeStep = createCompositeStep(name);
+        compositeStep.stepMethod = stepMethod;
+        return compositeStep;
+    }
+
+    @Override
+    public JBehaveTestDescriptor createStep(String name, Class<?> stepsType) {
+        return new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, name);
+    }
+
+    @Override
+    public JBehaveTestDescriptor createStep(String name, Class<?> stepsType, Method stepMethod) {
+        JBehaveTestDescriptor step = createStep(name, stepsType);
+        step.stepMethod = stepMethod;
+        return step;
+    }
+
+    /**
+     * Each meta property becomes a tag, {@code @smoke} is tagged as {@code smoke} and {@code @priority high}
+     * as {@code priority=high}. Whitespace in the value is replaced by underscores, the properties which still
+     * do not form a valid tag, e.g. values listing several items separated by commas, are not tagged.
+     */
+    @Override
+    public void addMeta(JBehaveTestDescriptor node, Meta meta) {
+        for (String name : new TreeSet<>(meta.getPropertyNames())) {
+            String value = meta.getProperty(name).trim();
+            String tag = value.isEmpty() ? name : name + '=' + value.replaceAll("\\s+", "_");
+            if (TestTag.isValid(tag)) {
+                node.addTag(TestTag.create(tag));
+            }
+        }
+    }
+
+    @Override
+    public void addStoryPath(JBehaveTestDescriptor node, String storyPath) {
+        node.storyPath = storyPath;
+    }
+
+    @Override
+    public void addChild(JBehaveTestDescriptor parent, JBehaveTestDescriptor child) {
+        parent.addChild(child);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.descriptor;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.platform.engine.TestDescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_SCENARIO;
+
+/**
+ * Stories and scenarios of the test classes as they were discovered. The post discovery filters of the platform,
+ * e.g. the tag filters, remove descriptors from the tree once the discovery is finished, the stories and scenarios
+ * removed this way are then left out of the execution of their classes.
+ */
+final class DiscoveredStories {
+
+    private final Map<JBehaveTestDescriptor, List<DiscoveredStory>> stories = new LinkedHashMap<>();
+
+    private DiscoveredStories() {
+    }
+
+    static DiscoveredStories of(TestDescriptor engineDescriptor) {
+        DiscoveredStories discoveredStories = new DiscoveredStories();
+        for (TestDescriptor child : engineDescriptor.getChildren()) {
+            JBehaveTestDescriptor classDescriptor = (JBehaveTestDescriptor) child;
+            if (classDescriptor.isRunnable()) {
+                discoveredStories.stories.put(classDescriptor, discover(classDescriptor));
+            }
+        }
+        return discoveredStories;
+    }
+
+    private static List<DiscoveredStory> discover(JBehaveTestDescriptor classDescriptor) {
+        List<DiscoveredStory> result = new ArrayList<>();
+        for (TestDescriptor story : classDescriptor.getChildren()) {
+            String storyPath = ((JBehaveTestDescriptor) story).getStoryPath();
+            if (storyPath == null) {
+                continue;
+            }
+            List<TestDescriptor> scenarios = new ArrayList<>();
+            for (TestDescriptor scenario : story.getChildren()) {
+                if (SEGMENT_TYPE_SCENARIO.equals(scenario.getUniqueId().getLastSegment().getType())) {
+                    scenarios.add(scenario);
+                }
+            }
+            Set<Integer> selected = classDescriptor.getScenarioSelection().get(storyPath);
+            result.add(new DiscoveredStory(story, storyPath, scenarios, selected));
+        }
+        return result;
+    }
+
+    /**
+     * Restricts each remaining test class to its remaining stories and scenarios, the classes untouched
+     * by the filters are kept as they are.
+     */
+    void removeFiltered() {
+        stories.forEach((classDescriptor, discovered) -> {
+            if (classDescriptor.getParent().isPresent()) {
+                removeFiltered(classDescriptor, discovered);
+            }
+        });
+    }
+
+    private static void removeFiltered(JBehaveTestDescriptor classDescriptor, List<DiscoveredStory> discovered) {
+        boolean filtered = false;
+        List<String> storyPaths = new ArrayList<>();
+        Map<String, Set<Integer>> scenarioSelection = new LinkedHashMap<>(classDescriptor.getScenarioSelection());
+        for (DiscoveredStory story : discovered) {
+            if (story.descriptor.getParent().orElse(null) != classDescriptor) {
+                scenarioSelection.remove(story.path);
+                filtered = true;
+                continue;
+            }
+            storyPaths.add(story.path);
+            Set<Integer> selected = story.remainingScenarios();
+            if (selected.size() < story.scenarios.size()) {
+                scenarioSelection.put(story.path, selected);
+                filtered = true;
+            }
+        }
+        if (filtered) {
+            classDescriptor.selectStories(storyPaths, scenarioSelection);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class DiscoveredStory {
+
+        private final TestDescriptor descriptor;
+        private final String path;
+        private final List<TestDescriptor> scenarios;
+        /**
+         * Indexes of the discovered scenarios within the story, {@code null} when all scenarios were discovered.
+         */
+        private final Set<Integer> selected;
+
+        Set<Integer> remainingScenarios() {
+            Iterator<Integer> indexes = selected != null ? selected.iterator() : null;
+            Set<Integer> remaining = new LinkedHashSet<>();
+            for (int i = 0; i < scenarios.size(); i++) {
+                int index = indexes != null && indexes.hasNext() ? indexes.next() : i;
+                if (scenarios.get(i).getParent().orElse(null) == descriptor) {
+                    remaining.add(index);
+                }
+            }
+            return Collections.unmodifiableSet(remaining);
+        }
+    }
+}
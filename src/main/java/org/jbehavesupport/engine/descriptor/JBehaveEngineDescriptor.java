@@ -26,8 +26,27 @@ public class JBehaveEngineDescriptor extends EngineDescriptor {
 
     public static final String ENGINE_NAME = "JBehave";
 
+    private DiscoveredStories discoveredStories;
+
 	public JBehaveEngineDescriptor(UniqueId uniqueId) {
 		super(uniqueId, ENGINE_NAME);
 	}
 
+    /**
+     * Remembers the discovered stories and scenarios of the test classes, must be called once the discovery is finished.
+     */
+    public void discoveryFinished() {
+        discoveredStories = DiscoveredStories.of(this);
+    }
+
+    /**
+     * Leaves the stories and scenarios removed by the post discovery filters out of the execution of their classes.
+     */
+    public void removeFilteredStories() {
+        if (discoveredStories != null) {
+            discoveredStories.removeFiltered();
+            discoveredStories = null;
+        }
+    }
+
 }
@@ -21,24 +21,95 @@ package org.jbehavesupport.engine.descriptor;
 
 import lombok.Getter;
 import org.jbehave.core.embedder.Embedder;
+import org.jbehave.core.embedder.PerformableTree;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.TestTag;
 import org.junit.platform.engine.UniqueId;
-import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
-@Getter
-public class JBehaveTestDescriptor extends AbstractTestDescriptor {
-
-    private List<String> storyPaths;
-    private Embedder configuredEmbedder;
+/**
+ * Memory compact {@link TestDescriptor}. Only the descriptors created for a test class and its top level stories
+ * hold a {@link UniqueId} from the start, the nested ones keep just their own segment and build the id from the parent
+ * when it is requested. Containers cache the built id until they are moved to another parent, leaves, which are most
+ * of the tree, build it from the cached id of their parent on each request. Leaves share an immutable empty set
+ * of children and the segment value is reused as display name.
+ */
+public class JBehaveTestDescriptor implements TestDescriptor {
 
     public static final String SEGMENT_TYPE_STEP = "step";
     public static final String SEGMENT_TYPE_SCENARIO = "scenario";
     public static final String SEGMENT_TYPE_STORY = "story";
     public static final String SEGMENT_TYPE_CLASS = "class";
 
+    private static final Set<TestDescriptor> NO_CHILDREN = Collections.emptySet();
+
+    private final UniqueId uniqueId;
+    private final String segmentType;
+    private final String segmentValue;
+    private final String displayName;
+    private final boolean dynamicContainer;
+
+    private TestDescriptor parent;
+    private Set<TestDescriptor> children = NO_CHILDREN;
+    private UniqueId builtUniqueId;
+    private Set<TestTag> tags;
+
+    @Getter
+    private List<String> storyPaths;
+    @Getter
+    private Embedder configuredEmbedder;
+    /**
+     * Indexes of the scenarios to perform by the story paths, empty when all scenarios are performed.
+     */
+    @Getter
+    private Map<String, Set<Integer>> scenarioSelection = Collections.emptyMap();
+    /**
+     * Performable stories built by the discovery by the story paths, performed instead of building them again.
+     */
+    @Getter
+    private Map<String, PerformableTree.PerformableStory> performableStories = Collections.emptyMap();
+    /**
+     * Path of the story the descriptor was built from, {@code null} when the descriptor is not a top level story.
+     */
+    @Getter
+    String storyPath;
+    /**
+     * Method performing the step or declaring the composed steps, {@code null} when the descriptor is not
+     * a matched step.
+     */
+    @Getter
+    Method stepMethod;
+    /**
+     * Tags of the descriptor itself, {@link #getTags()} adds the tags of its parents.
+     */
+    @Getter
+    Set<TestTag> ownTags = Collections.emptySet();
+
     public JBehaveTestDescriptor(UniqueId uniqueId, String displayName) {
-        super(uniqueId, displayName);
+        this(uniqueId, displayName, false);
+    }
+
+    /**
+     * Creates descriptor which can be a container whose children are registered dynamically during the execution.
+     * Otherwise the descriptor is a container only when children were added to it, it stays a container when they
+     * are removed, e.g. by the post discovery filters, so the platform prunes it as an empty container.
+     */
+    public JBehaveTestDescriptor(UniqueId uniqueId, String displayName, boolean dynamicContainer) {
+        this.uniqueId = Preconditions.notNull(uniqueId, "UniqueId must not be null");
+        this.segmentType = null;
+        this.segmentValue = null;
+        this.displayName = Preconditions.notBlank(displayName, "displayName must not be null or blank");
+        this.dynamicContainer = dynamicContainer;
     }
 
     public JBehaveTestDescriptor(UniqueId uniqueId, String displayName, List<String> storyPaths, Embedder configuredEmbedder) {
@@ -47,13 +118,208 @@ public class JBehaveTestDescriptor extends AbstractTestDescriptor {
         this.configuredEmbedder = configuredEmbedder;
     }
 
+    /**
+     * Creates descriptor whose unique id is the unique id of its parent appended by the given segment.
+     * The segment value is used as display name.
+     */
+    public JBehaveTestDescriptor(String segmentType, String segmentValue) {
+        this.uniqueId = null;
+        this.segmentType = segmentType;
+        this.segmentValue = Preconditions.notBlank(segmentValue, "segmentValue must not be null or blank");
+        this.displayName = segmentValue;
+        this.dynamicContainer = false;
+    }
+
     @Override
-	public Type getType() {
-		return getChildren().isEmpty() ? Type.TEST : Type.CONTAINER;
-	}
+    public UniqueId getUniqueId() {
+        if (uniqueId != null) {
+            return uniqueId;
+        }
+        if (builtUniqueId != null) {
+            return builtUniqueId;
+        }
+        Preconditions.condition(parent != null, () -> "Descriptor without parent has no unique id: " + segmentValue);
+        UniqueId builtId = parent.getUniqueId().append(segmentType, segmentValue);
+        if (children != NO_CHILDREN) {
+            builtUniqueId = builtId;
+        }
+        return builtId;
+    }
 
-	public boolean isRunnable() {
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Scenarios, examples and steps inherit the tags of their stories and scenarios, so the tag filters
+     * of the platform, which are applied to the tests, select them by the meta of the story or scenario.
+     * The merged tags are cached until a tag is added or the descriptor is moved to another parent.
+     */
+    @Override
+    public Set<TestTag> getTags() {
+        if (tags == null) {
+            tags = mergeTags();
+        }
+        return tags;
+    }
+
+    private Set<TestTag> mergeTags() {
+        Set<TestTag> parentTags = parent != null ? parent.getTags() : Collections.emptySet();
+        if (parentTags.isEmpty()) {
+            return ownTags.isEmpty() ? ownTags : Collections.unmodifiableSet(ownTags);
+        }
+        if (ownTags.isEmpty()) {
+            return parentTags;
+        }
+        Set<TestTag> tags = new LinkedHashSet<>(parentTags);
+        tags.addAll(ownTags);
+        return Collections.unmodifiableSet(tags);
+    }
+
+    void addTag(TestTag tag) {
+        if (ownTags.isEmpty()) {
+            ownTags = new LinkedHashSet<>();
+        }
+        ownTags.add(tag);
+        forgetInherited();
+    }
+
+    @Override
+    public Optional<TestSource> getSource() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<TestDescriptor> getParent() {
+        return Optional.ofNullable(parent);
+    }
+
+    @Override
+    public void setParent(TestDescriptor parent) {
+        this.parent = parent;
+        forgetInherited();
+    }
+
+    private void forgetInherited() {
+        // descendants can only have cached their id and tags through this one
+        if (builtUniqueId != null || tags != null) {
+            builtUniqueId = null;
+            tags = null;
+            children.stream()
+                .filter(JBehaveTestDescriptor.class::isInstance)
+                .forEach(child -> ((JBehaveTestDescriptor) child).forgetInherited());
+        }
+    }
+
+    @Override
+    public Set<? extends TestDescriptor> getChildren() {
+        return children.isEmpty() ? children : Collections.unmodifiableSet(children);
+    }
+
+    @Override
+    public void addChild(TestDescriptor child) {
+        Preconditions.notNull(child, "child must not be null");
+        if (children == NO_CHILDREN) {
+            children = new LinkedHashSet<>();
+        }
+        child.setParent(this);
+        children.add(child);
+    }
+
+    @Override
+    public void removeChild(TestDescriptor child) {
+        Preconditions.notNull(child, "child must not be null");
+        children.remove(child);
+        child.setParent(null);
+    }
+
+    @Override
+    public void removeFromHierarchy() {
+        Preconditions.condition(!isRoot(), "cannot remove the root of a hierarchy");
+        parent.removeChild(this);
+        children.forEach(child -> child.setParent(null));
+        children = NO_CHILDREN;
+    }
+
+    @Override
+    public Optional<? extends TestDescriptor> findByUniqueId(UniqueId uniqueId) {
+        Preconditions.notNull(uniqueId, "UniqueId must not be null");
+        UniqueId id = getUniqueId();
+        if (id.equals(uniqueId)) {
+            return Optional.of(this);
+        }
+        if (!uniqueId.hasPrefix(id)) {
+            return Optional.empty();
+        }
+        return children.stream()
+            .map(child -> child.findByUniqueId(uniqueId))
+            .filter(Optional::isPresent)
+            .findFirst()
+            .orElse(Optional.empty());
+    }
+
+    @Override
+    public Type getType() {
+        return dynamicContainer || children != NO_CHILDREN ? Type.CONTAINER : Type.TEST;
+    }
+
+    @Override
+    public boolean mayRegisterTests() {
+        return dynamicContainer;
+    }
+
+    public boolean isRunnable() {
         return storyPaths != null && configuredEmbedder != null;
     }
 
+    /**
+     * Makes the descriptor of a test class runnable once the stories of the class are discovered.
+     */
+    public void discovered(List<String> storyPaths, Embedder configuredEmbedder) {
+        discovered(storyPaths, configuredEmbedder, Collections.emptyMap());
+    }
+
+    /**
+     * @param performableStories stories built by the discovery which are performed by the execution
+     */
+    public void discovered(List<String> storyPaths, Embedder configuredEmbedder,
+                           Map<String, PerformableTree.PerformableStory> performableStories) {
+        this.storyPaths = storyPaths;
+        this.configuredEmbedder = configuredEmbedder;
+        this.performableStories = performableStories;
+    }
+
+    /**
+     * Restricts the test class to the stories of the selection, only the selected scenarios of them are performed.
+     */
+    public void selectScenarios(Map<String, Set<Integer>> scenarioSelection) {
+        selectStories(new ArrayList<>(scenarioSelection.keySet()), scenarioSelection);
+    }
+
+    /**
+     * Restricts the test class to the given stories, the stories present in the selection perform only
+     * the selected scenarios, the others perform all their scenarios.
+     */
+    public void selectStories(List<String> storyPaths, Map<String, Set<Integer>> scenarioSelection) {
+        this.storyPaths = storyPaths;
+        this.scenarioSelection = scenarioSelection;
+    }
+
+    /**
+     * Releases embedder, story paths and performable stories of an executed test class, so they can be garbage
+     * collected while the descriptor tree is still referenced by the platform.
+     */
+    public void release() {
+        storyPaths = null;
+        configuredEmbedder = null;
+        scenarioSelection = Collections.emptyMap();
+        performableStories = Collections.emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + getUniqueId();
+    }
+
 }
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.descriptor;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.jbehave.core.ConfigurableEmbedder;
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.embedder.Embedder;
+import org.jbehave.core.embedder.StoryControls;
+import org.jbehave.core.model.GivenStories;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehave.core.steps.Steps;
+import org.jbehavesupport.core.EmbedderSupport;
+import org.jbehavesupport.core.Fingerprints;
+import org.jbehavesupport.engine.reporter.ReportLevel;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_CLASS;
+
+/**
+ * Binary index of the descriptors of a test class built at build time, so the discovery does not need to parse
+ * the stories and match their steps. The index of a class is stored on the classpath as
+ * {@code META-INF/jbehave/<class name>.index} and it is used only while it is up to date: it has to be built
+ * for the same report level and story paths, from the same texts of the stories and the same bytecode of the steps
+ * and of the test class configuring them.
+ */
+@Slf4j
+public final class StoryIndex {
+
+    public static final String INDEX_PROPERTY = "jbehave.discovery.index";
+    public static final String INDEX_DIRECTORY = "META-INF/jbehave/";
+
+    private static final int FORMAT_VERSION = 4;
+
+    private StoryIndex() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the indexes of the test classes. Arguments are the output directory, the report level and the names
+     * of the test classes, which are loaded by the context class loader.
+     */
+    @SneakyThrows(ClassNotFoundException.class)
+    public static void main(String[] args) {
+        Path outputDirectory = Paths.get(args[0]);
+        ReportLevel reportLevel = ReportLevel.valueOf(args[1]);
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (String className : Arrays.asList(args).subList(2, args.length)) {
+            Path index = write(Class.forName(className, true, classLoader).asSubclass(ConfigurableEmbedder.class),
+                reportLevel, outputDirectory);
+            log.info("Story index written: {}", index);
+        }
+    }
+
+    /**
+     * Builds the descriptors of the test class and writes them into the index in the output directory.
+     *
+     * @return path of the written index
+     */
+    @SneakyThrows({ReflectiveOperationException.class, IOException.class})
+    public static Path write(Class<? extends ConfigurableEmbedder> testClass, ReportLevel reportLevel, Path outputDirectory) {
+        ConfigurableEmbedder configurableEmbedder = testClass.newInstance();
+        Embedder configuredEmbedder = configurableEmbedder.configuredEmbedder();
+        EmbedderSupport.setupNullStepMonitor(configuredEmbedder);
+        List<String> storyPaths = EmbedderSupport.getStoryPaths(configurableEmbedder);
+        UniqueId parentId = UniqueId.forEngine("jbehave").append(SEGMENT_TYPE_CLASS, testClass.getCanonicalName());
+        StoryResult storyResult = StoryParser.parse(configuredEmbedder, storyPaths, reportLevel, parentId);
+
+        Path index = outputDirectory.resolve(INDEX_DIRECTORY + testClass.getName() + ".index");
+        Files.createDirectories(index.getParent());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(index)))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(reportLevel.name());
+            output.writeInt(storyPaths.size());
+            for (String storyPath : storyPaths) {
+                writeString(output, storyPath);
+            }
+            output.writeUTF(fingerprint(testClass, configuredEmbedder, storyPaths));
+            output.writeInt(storyResult.getStoryDescriptors().size());
+            for (JBehaveTestDescriptor descriptor : storyResult.getStoryDescriptors()) {
+                writeDescriptor(output, descriptor);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return descriptors of the stories read from the index of the test class, empty when there is no index
+     * or it is out of date
+     */
+    @SneakyThrows(IOException.class)
+    public static Optional<StoryResult> load(Class<?> testClass, Embedder configuredEmbedder, List<String> storyPaths,
+                                             ReportLevel reportLevel, UniqueId parentId) {
+        InputStream inputStream = testClass.getClassLoader().getResourceAsStream(INDEX_DIRECTORY + testClass.getName() + ".index");
+        if (inputStream == null) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream))) {
+            if (input.readInt() != FORMAT_VERSION || !reportLevel.name().equals(input.readUTF())) {
+                return Optional.empty();
+            }
+            List<String> indexedStoryPaths = new ArrayList<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                indexedStoryPaths.add(readString(input));
+            }
+            if (!indexedStoryPaths.equals(storyPaths) || !input.readUTF().equals(fingerprint(testClass, configuredEmbedder, storyPaths))) {
+                log.debug("Story index of {} is out of date", testClass.getName());
+                return Optional.empty();
+            }
+            List<JBehaveTestDescriptor> storyDescriptors = new ArrayList<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                storyDescriptors.add(readDescriptor(input, parentId, testClass.getClassLoader()));
+            }
+            return Optional.of(new StoryResult(storyDescriptors));
+        }
+    }
+
+    /**
+     * @return fingerprint of the test class, the configuration shaping the tree, the steps classes and the texts
+     * of the stories, their given stories and the composite steps and aliases
+     */
+    private static String fingerprint(Class<?> testClass, Embedder configuredEmbedder, List<String> storyPaths) {
+        Configuration configuration = configuredEmbedder.configuration();
+        MessageDigest digest = Fingerprints.newDigest();
+        // the test class configures e.g. the parameter converters and the steps factory
+        update(digest, Fingerprints.of(testClass));
+        update(digest, configuration.getClass().getName());
+        update(digest, configuration.parameterConverters().getClass().getName());
+        update(digest, configuredEmbedder.metaFilter().asString());
+        update(digest, configuration.keywords().getClass().getName());
+        Keywords keywords = configuration.keywords();
+        for (String keyword : Arrays.asList(keywords.meta(), keywords.narrative(), keywords.scenario(), keywords.givenStories(),
+            keywords.lifecycle(), keywords.before(), keywords.after(), keywords.examplesTable(), keywords.examplesTableRow(),
+            keywords.examplesTableHeaderSeparator(), keywords.examplesTableValueSeparator(),
+            keywords.examplesTableIgnorableSeparator(), keywords.given(), keywords.when(), keywords.then(), keywords.and(),
+            keywords.ignorable(), keywords.composite(), keywords.priority())) {
+            update(digest, keyword);
+        }
+        StoryControls storyControls = configuration.storyControls();
+        update(digest, storyControls.dryRun() + " " + storyControls.skipBeforeAndAfterScenarioStepsIfGivenStory()
+            + " " + storyControls.ignoreMetaFiltersIfGivenStory() + " " + storyControls.metaByRow()
+            + " " + storyControls.storyMetaPrefix() + " " + storyControls.scenarioMetaPrefix());
+        TreeSet<String> stepsTypes = new TreeSet<>();
+        for (CandidateSteps candidateSteps : configuredEmbedder.stepsFactory().createCandidateSteps()) {
+            stepsTypes.add(Fingerprints.of(candidateSteps instanceof Steps ? ((Steps) candidateSteps).type() : candidateSteps.getClass()));
+        }
+        stepsTypes.forEach(stepsType -> update(digest, stepsType));
+        for (String resourcePath : new TreeSet<>(configuration.compositePaths())) {
+            update(digest, resourcePath);
+            update(digest, Fingerprints.of(configuration.storyLoader().loadResourceAsText(resourcePath)));
+        }
+        for (String resourcePath : new TreeSet<>(configuration.aliasPaths())) {
+            update(digest, resourcePath);
+            update(digest, Fingerprints.of(configuration.storyLoader().loadResourceAsText(resourcePath)));
+        }
+        Set<String> visitedPaths = new HashSet<>();
+        Deque<String> paths = new ArrayDeque<>(storyPaths);
+        while (!paths.isEmpty()) {
+            String storyPath = paths.poll();
+            if (!visitedPaths.add(storyPath)) {
+                continue;
+            }
+            String storyAsText = configuration.storyLoader().loadStoryAsText(storyPath);
+            update(digest, storyPath);
+            update(digest, Fingerprints.of(storyAsText));
+            // only the stories mentioning given stories are worth parsing
+            if (storyAsText.contains(keywords.givenStories())) {
+                Story story = configuration.storyParser().parseStory(storyAsText, storyPath);
+                addGivenStories(configuration, paths, storyPath, story.getGivenStories());
+                story.getScenarios().forEach(scenario -> addGivenStories(configuration, paths, storyPath, scenario.getGivenStories()));
+            }
+        }
+        return Fingerprints.toHex(digest.digest());
+    }
+
+    private static void addGivenStories(Configuration configuration, Deque<String> paths, String storyPath, GivenStories givenStories) {
+        givenStories.getPaths()
+            .forEach(givenStoryPath -> paths.add(configuration.pathCalculator().calculate(storyPath, givenStoryPath)));
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(UTF_8));
+        // separates the texts, so that they can not be shifted into each other
+        digest.update((byte) 0);
+    }
+
+    private static void writeDescriptor(DataOutputStream output, JBehaveTestDescriptor descriptor) throws IOException {
+        UniqueId.Segment segment = descriptor.getUniqueId().getLastSegment();
+        output.writeUTF(segment.getType());
+        writeString(output, segment.getValue());
+        writeString(output, descriptor.getDisplayName());
+        output.writeBoolean(descriptor.mayRegisterTests());
+        output.writeBoolean(descriptor.getStoryPath() != null);
+        if (descriptor.getStoryPath() != null) {
+            writeString(output, descriptor.getStoryPath());
+        }
+        Method stepMethod = descriptor.getStepMethod();
+        output.writeBoolean(stepMethod != null);
+        if (stepMethod != null) {
+            writeString(output, stepMethod.getDeclaringClass().getName());
+            writeString(output, stepMethod.getName());
+            output.writeInt(stepMethod.getParameterCount());
+            for (Class<?> parameterType : stepMethod.getParameterTypes()) {
+                writeString(output, parameterType.getTypeName());
+            }
+        }
+        output.writeInt(descriptor.getOwnTags().size());
+        for (TestTag tag : descriptor.getOwnTags()) {
+            writeString(output, tag.getName());
+        }
+        output.writeInt(descriptor.getChildren().size());
+        for (TestDescriptor child : descriptor.getChildren()) {
+            writeDescriptor(output, (JBehaveTestDescriptor) child);
+        }
+    }
+
+    /**
+     * Top level descriptors get their unique id from the parent, the nested ones from the descriptor they are added to.
+     */
+    private static JBehaveTestDescriptor readDescriptor(DataInputStream input, UniqueId parentId, ClassLoader classLoader)
+        throws IOException {
+        String segmentType = input.readUTF();
+        String segmentValue = readString(input);
+        String displayName = readString(input);
+        boolean dynamicContainer = input.readBoolean();
+        JBehaveTestDescriptor descriptor = parentId != null
+            ? new JBehaveTestDescriptor(parentId.append(segmentType, segmentValue), displayName, dynamicContainer)
+            : new JBehaveTestDescriptor(segmentType, segmentValue);
+        if (input.readBoolean()) {
+            descriptor.storyPath = readString(input);
+        }
+        if (input.readBoolean()) {
+            String declaringClass = readString(input);
+            String methodName = readString(input);
+            String[] parameterTypes = new String[input.readInt()];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = readString(input);
+            }
+            descriptor.stepMethod = findMethod(classLoader, declaringClass, methodName, parameterTypes);
+        }
+        for (int i = input.readInt(); i > 0; i--) {
+            descriptor.addTag(TestTag.create(readString(input)));
+        }
+        for (int i = input.readInt(); i > 0; i--) {
+            descriptor.addChild(readDescriptor(input, null, classLoader));
+        }
+        return descriptor;
+    }
+
+    @SneakyThrows(ClassNotFoundException.class)
+    private static Method findMethod(ClassLoader classLoader, String declaringClass, String methodName, String[] parameterTypes) {
+        for (Method method : Class.forName(declaringClass, false, classLoader).getDeclaredMethods()) {
+            if (method.getName().equals(methodName) && Arrays.equals(parameterTypeNames(method), parameterTypes)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static String[] parameterTypeNames(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getTypeName).toArray(String[]::new);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
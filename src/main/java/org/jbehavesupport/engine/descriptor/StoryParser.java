@@ -18,8 +18,18 @@
  */
 package org.jbehavesupport.engine.descriptor;
 
+import org.jbehave.core.embedder.Embedder;
 import org.jbehave.core.embedder.PerformableTree;
+import org.jbehavesupport.core.EmbedderSupport;
+import org.jbehavesupport.core.StepCandidateIndex;
+import org.jbehavesupport.core.tree.AbstractTreeBuilder;
+import org.jbehavesupport.core.tree.ScenarioLevelTreeBuilder;
+import org.jbehavesupport.core.tree.StepLevelTreeBuilder;
+import org.jbehavesupport.core.tree.StoryLevelTreeBuilder;
 import org.jbehavesupport.engine.reporter.ReportLevel;
+import org.junit.platform.engine.UniqueId;
+
+import java.util.List;
 
 public class StoryParser {
 
@@ -27,12 +37,45 @@ public class StoryParser {
         throw new IllegalStateException("Utility class");
     }
 
-    public static AbstractDescriptorBuilder parse(PerformableTree story, ReportLevel reportLevel) {
+    public static DescriptorBuilder parse(PerformableTree story, ReportLevel reportLevel) {
+        return new TreeDescriptorBuilder(treeBuilder(reportLevel), story);
+    }
+
+    /**
+     * Builds the descriptors of the stories including their scenarios and steps.
+     */
+    public static StoryResult parse(Embedder configuredEmbedder, List<String> storyPaths, ReportLevel reportLevel, UniqueId parentId) {
+        return parse(configuredEmbedder, storyPaths, reportLevel, parentId, false);
+    }
+
+    /**
+     * Builds the descriptors of the stories including their scenarios and steps, the stories are loaded and their steps
+     * matched in parallel when requested.
+     */
+    public static StoryResult parse(Embedder configuredEmbedder, List<String> storyPaths, ReportLevel reportLevel, UniqueId parentId,
+                                    boolean parallelStories) {
+        return parse(EmbedderSupport.createPerformableTree(configuredEmbedder, storyPaths, parallelStories), reportLevel)
+            .withCandidateSteps(StepCandidateIndex.candidateSteps(configuredEmbedder))
+            .withKeywords(configuredEmbedder.configuration().keywords())
+            .withParallelStories(parallelStories)
+            .buildDescriptor(parentId);
+    }
+
+    /**
+     * Builds the top level descriptors of the stories only, the stories are not loaded at all.
+     */
+    public static StoryResult parseStoryPaths(List<String> storyPaths, ReportLevel reportLevel, UniqueId parentId) {
+        return new StoryResult(treeBuilder(reportLevel).buildStories(new DescriptorFactory(parentId, true), storyPaths));
+    }
+
+    private static AbstractTreeBuilder<JBehaveTestDescriptor> treeBuilder(ReportLevel reportLevel) {
         switch (reportLevel) {
             case STEP:
-                return new StepLevelDescriptorBuilder(story);
+                return new StepLevelTreeBuilder<>();
+            case SCENARIO:
+                return new ScenarioLevelTreeBuilder<>();
             case STORY:
-                return new StoryLevelDescriptorBuilder(story);
+                return new StoryLevelTreeBuilder<>();
             default:
                 throw new IllegalArgumentException("Unsupported report level: " + reportLevel);
         }
@@ -21,11 +21,23 @@ package org.jbehavesupport.engine.descriptor;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.jbehave.core.embedder.PerformableTree;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @AllArgsConstructor
 public class StoryResult {
     private final List<JBehaveTestDescriptor> storyDescriptors;
+    /**
+     * Performable stories built for the descriptors by the story paths, which can be performed instead of building
+     * them again. Empty when the stories were not built, e.g. the descriptors were loaded from an index.
+     */
+    private final Map<String, PerformableTree.PerformableStory> performableStories;
+
+    public StoryResult(List<JBehaveTestDescriptor> storyDescriptors) {
+        this(storyDescriptors, Collections.emptyMap());
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.descriptor;
+
+import lombok.RequiredArgsConstructor;
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehavesupport.core.tree.AbstractTreeBuilder;
+import org.junit.platform.engine.UniqueId;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class TreeDescriptorBuilder implements DescriptorBuilder {
+
+    private final AbstractTreeBuilder<JBehaveTestDescriptor> treeBuilder;
+    private final PerformableTree story;
+
+    @Override
+    public DescriptorBuilder withCandidateSteps(List<CandidateSteps> candidateSteps) {
+        treeBuilder.withCandidateSteps(candidateSteps);
+        return this;
+    }
+
+    @Override
+    public DescriptorBuilder withKeywords(Keywords keywords) {
+        treeBuilder.withKeywords(keywords);
+        return this;
+    }
+
+    @Override
+    public DescriptorBuilder withParallelStories(boolean parallelStories) {
+        treeBuilder.withParallelStories(parallelStories);
+        return this;
+    }
+
+    @Override
+    public StoryResult buildDescriptor(UniqueId parentId) {
+        return new StoryResult(treeBuilder.build(new DescriptorFactory(parentId), story), reusableStories());
+    }
+
+    /**
+     * Stories with given stories are left out, their given stories may be memoized across the stories of the run.
+     */
+    private Map<String, PerformableTree.PerformableStory> reusableStories() {
+        Map<String, PerformableTree.PerformableStory> performableStories = new HashMap<>();
+        for (PerformableTree.PerformableStory performableStory : story.getRoot().getStories()) {
+            if (!hasGivenStories(performableStory.getStory())) {
+                performableStories.put(performableStory.getStory().getPath(), performableStory);
+            }
+        }
+        return performableStories;
+    }
+
+    private static boolean hasGivenStories(Story story) {
+        return !story.getGivenStories().getPaths().isEmpty()
+            || story.getScenarios().stream().anyMatch(scenario -> !scenario.getGivenStories().getPaths().isEmpty());
+    }
+}
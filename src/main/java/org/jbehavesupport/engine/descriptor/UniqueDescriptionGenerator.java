@@ -16,22 +16,12 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.jbehavesupport.engine.descriptor;
 
-import java.util.HashSet;
-import java.util.Set;
-
-public class UniqueDescriptionGenerator {
-
-    private Set<String> descriptions = new HashSet<>();
-
-    public String getUnique(String description) {
-        String result = description;
-        while (descriptions.contains(result)) {
-            result += '\u200B'; // zero-width-space
-        }
-        descriptions.add(result);
-        return result;
-    }
+/**
+ * @deprecated moved to {@link org.jbehavesupport.core.tree.UniqueDescriptionGenerator}, which is shared by the runner
+ * and the engine
+ */
+@Deprecated
+public class UniqueDescriptionGenerator extends org.jbehavesupport.core.tree.UniqueDescriptionGenerator {
 }
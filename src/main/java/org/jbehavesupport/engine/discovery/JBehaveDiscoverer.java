@@ -19,6 +19,7 @@
 
 package org.jbehavesupport.engine.discovery;
 
+import org.jbehave.core.ConfigurableEmbedder;
 import org.jbehavesupport.engine.JUnit5Stories;
 import org.jbehavesupport.engine.descriptor.JBehaveEngineDescriptor;
 import org.junit.platform.engine.EngineDiscoveryRequest;
@@ -27,22 +28,60 @@ import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.support.descriptor.EngineDescriptor;
 import org.junit.platform.engine.support.discovery.EngineDiscoveryRequestResolver;
 
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static java.lang.reflect.Modifier.isAbstract;
 
 public class JBehaveDiscoverer {
 
+    private final Function<Class<? extends ConfigurableEmbedder>, ConfigurableEmbedder> storiesFactory;
+    private final Predicate<String> storyPathFilter;
+
+    public JBehaveDiscoverer() {
+        this(JBehaveSelectorResolver::instantiate, storyPath -> true);
+    }
+
+    /**
+     * @param storiesFactory provides the instances of the test classes
+     * @param storyPathFilter selects the stories to discover
+     */
+    public JBehaveDiscoverer(Function<Class<? extends ConfigurableEmbedder>, ConfigurableEmbedder> storiesFactory,
+                             Predicate<String> storyPathFilter) {
+        this.storiesFactory = storiesFactory;
+        this.storyPathFilter = storyPathFilter;
+    }
+
 	public EngineDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
-		EngineDescriptor engineDescriptor = new JBehaveEngineDescriptor(uniqueId);
-        getResolver(discoveryRequest, engineDescriptor.getUniqueId()).resolve(discoveryRequest, engineDescriptor);
+		JBehaveEngineDescriptor engineDescriptor = new JBehaveEngineDescriptor(uniqueId);
+        try (JBehaveSelectorResolver selectorResolver = new JBehaveSelectorResolver(discoveryRequest, engineDescriptor.getUniqueId(),
+            storiesFactory, storyPathFilter)) {
+            getResolver(selectorResolver).resolve(discoveryRequest, engineDescriptor);
+            selectorResolver.awaitDiscovery();
+        }
+        selectImpactedScenarios(discoveryRequest, engineDescriptor);
+        engineDescriptor.discoveryFinished();
 		return engineDescriptor;
 	}
 
-	private EngineDiscoveryRequestResolver<TestDescriptor> getResolver(EngineDiscoveryRequest discoveryRequest, UniqueId engineId) {
+    private static void selectImpactedScenarios(EngineDiscoveryRequest discoveryRequest, EngineDescriptor engineDescriptor) {
+        Optional<String> stepIndex = discoveryRequest.getConfigurationParameters().get(StepUsageIndex.STEP_INDEX_PROPERTY);
+        Optional<String> changedSteps = discoveryRequest.getConfigurationParameters().get(StepUsageIndex.CHANGED_STEPS_PROPERTY);
+        if (!stepIndex.isPresent() && !changedSteps.isPresent()) {
+            return;
+        }
+        StepUsageIndex index = StepUsageIndex.of(engineDescriptor);
+        stepIndex.ifPresent(path -> index.write(Paths.get(path)));
+        changedSteps.ifPresent(changed -> index.selectImpacted(engineDescriptor, Arrays.asList(changed.split(","))));
+    }
+
+	private static EngineDiscoveryRequestResolver<TestDescriptor> getResolver(JBehaveSelectorResolver selectorResolver) {
         return EngineDiscoveryRequestResolver.builder()
             .addClassContainerSelectorResolver(getJBehaveClassSelector())
-            .addSelectorResolver(new JBehaveSelectorResolver(discoveryRequest, engineId))
+            .addSelectorResolver(selectorResolver)
             .build();
     }
 
@@ -19,135 +19,334 @@
 
 package org.jbehavesupport.engine.discovery;
 
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.jbehave.core.ConfigurableEmbedder;
-import org.jbehave.core.embedder.AllStepCandidates;
 import org.jbehave.core.embedder.Embedder;
 import org.jbehave.core.embedder.PerformableTree;
-import org.jbehave.core.failures.BatchFailures;
-import org.jbehave.core.model.Story;
-import org.jbehave.core.steps.NullStepMonitor;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehave.core.steps.Steps;
+import org.jbehavesupport.core.EmbedderSupport;
 import org.jbehavesupport.engine.JUnit5Stories;
 import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
+import org.jbehavesupport.engine.descriptor.StoryIndex;
 import org.jbehavesupport.engine.descriptor.StoryParser;
 import org.jbehavesupport.engine.descriptor.StoryResult;
 import org.jbehavesupport.engine.reporter.ReportLevel;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.DiscoveryFilter;
 import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.Filter;
 import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassNameFilter;
 import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.PackageNameFilter;
+import org.junit.platform.engine.discovery.UniqueIdSelector;
 import org.junit.platform.engine.support.discovery.SelectorResolver;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.jbehavesupport.core.tree.AbstractTreeBuilder.STORIES_AFTER;
+import static org.jbehavesupport.core.tree.AbstractTreeBuilder.STORIES_BEFORE;
 import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_CLASS;
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_STORY;
 import static org.jbehavesupport.engine.reporter.ReportLevel.REPORT_LEVEL_PROPERTY;
 import static org.jbehavesupport.engine.reporter.ReportLevel.STEP;
 
-public class JBehaveSelectorResolver implements SelectorResolver {
+public class JBehaveSelectorResolver implements SelectorResolver, AutoCloseable {
 
-    private static final String STORY_PATHS = "storyPaths";
+    public static final String LAZY_DISCOVERY_PROPERTY = "jbehave.discovery.lazy";
+    public static final String PARALLEL_DISCOVERY_PROPERTY = "jbehave.discovery.parallel";
+    public static final String RETAIN_PERFORMABLES_PROPERTY = "jbehave.discovery.retain.performables";
 
     private final UniqueId engineId;
     private final String reportLevel;
+    private final boolean lazyDiscovery;
+    private final boolean storyIndex;
+    private final boolean retainPerformables;
+    private final Function<Class<? extends ConfigurableEmbedder>, ConfigurableEmbedder> storiesFactory;
+    private final Predicate<String> storyPathFilter;
+    private final Predicate<String> classNameFilter;
+    private final Map<String, Set<String>> selectedStories;
+    private final ForkJoinPool discoveryPool;
+    private final Map<JBehaveTestDescriptor, ForkJoinTask<Optional<DiscoveredClass>>> pendingClasses = new LinkedHashMap<>();
+    private final Map<Class<?>, JBehaveTestDescriptor> resolvedClasses = new HashMap<>();
 
     public JBehaveSelectorResolver(EngineDiscoveryRequest discoveryRequest, UniqueId engineId) {
+        this(discoveryRequest, engineId, JBehaveSelectorResolver::instantiate, storyPath -> true);
+    }
+
+    /**
+     * @param storiesFactory provides the instances of the test classes, e.g. instances kept from a previous discovery
+     * @param storyPathFilter selects the stories to discover, classes without any selected story are not resolved
+     */
+    public JBehaveSelectorResolver(EngineDiscoveryRequest discoveryRequest, UniqueId engineId,
+                                   Function<Class<? extends ConfigurableEmbedder>, ConfigurableEmbedder> storiesFactory,
+                                   Predicate<String> storyPathFilter) {
         this.engineId = engineId;
         this.reportLevel = discoveryRequest.getConfigurationParameters().get(REPORT_LEVEL_PROPERTY).orElse(STEP.name());
+        this.lazyDiscovery = discoveryRequest.getConfigurationParameters().getBoolean(LAZY_DISCOVERY_PROPERTY).orElse(false);
+        this.storyIndex = discoveryRequest.getConfigurationParameters().getBoolean(StoryIndex.INDEX_PROPERTY).orElse(true);
+        this.retainPerformables = discoveryRequest.getConfigurationParameters().getBoolean(RETAIN_PERFORMABLES_PROPERTY).orElse(false);
+        this.storiesFactory = storiesFactory;
+        this.storyPathFilter = storyPathFilter;
+        this.classNameFilter = classNameFilter(discoveryRequest);
+        this.selectedStories = selectedStories(discoveryRequest, engineId);
+        this.discoveryPool = discoveryRequest.getConfigurationParameters().getBoolean(PARALLEL_DISCOVERY_PROPERTY).orElse(false)
+            ? createDiscoveryPool()
+            : null;
+    }
+
+    @SneakyThrows({IllegalAccessException.class, InstantiationException.class})
+    public static ConfigurableEmbedder instantiate(Class<? extends ConfigurableEmbedder> testClass) {
+        return testClass.newInstance();
     }
 
     @Override
     public Resolution resolve(ClassSelector selector, Context context) {
-        if (!JUnit5Stories.class.isAssignableFrom(selector.getJavaClass())) {
+        if (!JUnit5Stories.class.isAssignableFrom(selector.getJavaClass()) || !classNameFilter.test(selector.getClassName())) {
             return Resolution.unresolved();
         }
         return resolveTestClass((Class<? extends JUnit5Stories>)selector.getJavaClass(), context);
     }
 
-    @SneakyThrows({IllegalAccessException.class, InstantiationException.class})
-    private Resolution resolveTestClass(Class<? extends ConfigurableEmbedder> testClass, Context context) {
-        List<String> storyPaths;
-        Embedder configuredEmbedder;
-
-        ConfigurableEmbedder configurableEmbedder = testClass.newInstance();
-        configuredEmbedder = configurableEmbedder.configuredEmbedder();
-        setupNullStepMonitor(configuredEmbedder);
-        storyPaths = getStoryPaths(configurableEmbedder);
+    /**
+     * Resolves the class of the unique id, e.g. of a story or scenario selected in the IDE. When the class is selected
+     * by the unique ids of its stories only, just these stories are discovered.
+     */
+    @Override
+    public Resolution resolve(UniqueIdSelector selector, Context context) {
+        return testClassName(selector.getUniqueId(), engineId)
+            .filter(classNameFilter)
+            .flatMap(className -> ReflectionSupport.tryToLoadClass(className).toOptional())
+            .filter(JUnit5Stories.class::isAssignableFrom)
+            .map(testClass -> resolveTestClass((Class<? extends JUnit5Stories>) testClass, context))
+            .orElseGet(Resolution::unresolved);
+    }
 
+    private Resolution resolveTestClass(Class<? extends ConfigurableEmbedder> testClass, Context context) {
+        JBehaveTestDescriptor resolvedClass = resolvedClasses.get(testClass);
+        if (resolvedClass != null) {
+            return Resolution.match(Match.exact(resolvedClass));
+        }
         UniqueId classDescriptorId = engineId.append(SEGMENT_TYPE_CLASS, testClass.getCanonicalName());
-        JBehaveTestDescriptor classDescriptor = new JBehaveTestDescriptor(classDescriptorId, testClass.getSimpleName(), storyPaths, configuredEmbedder);
-
-        List<JBehaveTestDescriptor> storiesDescriptors = getStoriesDescriptors(classDescriptorId, configuredEmbedder, storyPaths);
-        storiesDescriptors.forEach(classDescriptor::addChild);
+        Predicate<String> storyFilter = storyPathFilter.and(storyFilter(testClass));
+        JBehaveTestDescriptor classDescriptor;
+        if (discoveryPool == null) {
+            Optional<DiscoveredClass> discoveredClass = discoverClass(testClass, classDescriptorId, storyFilter);
+            if (!discoveredClass.isPresent()) {
+                return Resolution.unresolved();
+            }
+            classDescriptor = new JBehaveTestDescriptor(classDescriptorId, testClass.getSimpleName());
+            discoveredClass.get().describe(classDescriptor);
+        } else {
+            // the stories are discovered in parallel and added to the descriptor by awaitDiscovery
+            classDescriptor = new JBehaveTestDescriptor(classDescriptorId, testClass.getSimpleName());
+            pendingClasses.put(classDescriptor, discoveryPool.submit(() -> discoverClass(testClass, classDescriptorId, storyFilter)));
+        }
+        resolvedClasses.put(testClass, classDescriptor);
 
         context.addToParent(parent -> Optional.of(classDescriptor));
         return Resolution.match(Match.exact(classDescriptor));
     }
 
-    private List<JBehaveTestDescriptor> getStoriesDescriptors(UniqueId parentId, Embedder configuredEmbedder, List<String> storyPaths) {
-        StoryResult storyResult = StoryParser.parse(createPerformableTree(configuredEmbedder, storyPaths), ReportLevel.valueOf(reportLevel))
-            .withCandidateSteps(configuredEmbedder.stepsFactory().createCandidateSteps())
-            .withKeywords(configuredEmbedder.configuration().keywords())
-            .buildDescriptor(parentId);
+    /**
+     * @return filter of the story paths of the class, accepting all stories unless the class is selected by the unique
+     * ids of its stories only
+     */
+    private Predicate<String> storyFilter(Class<?> testClass) {
+        Set<String> storyNames = selectedStories.get(testClass.getName());
+        if (storyNames == null) {
+            return storyPath -> true;
+        }
+        return storyPath -> storyNames.contains(storySegmentValue(EmbedderSupport.getStoryName(storyPath)));
+    }
 
-        return storyResult.getStoryDescriptors();
+    /**
+     * @return value of the story segment of the unique id, the story name at the story report level and the story text
+     * otherwise, see the tree builders
+     */
+    private String storySegmentValue(String storyName) {
+        return ReportLevel.valueOf(reportLevel) == ReportLevel.STORY
+            ? storyName
+            : buildStoryText(storyName);
     }
 
-    private PerformableTree createPerformableTree(Embedder configuredEmbedder, List<String> storyPaths) {
-        BatchFailures failures = new BatchFailures(configuredEmbedder.embedderControls().verboseFailures());
-        PerformableTree performableTree = new PerformableTree();
-        PerformableTree.RunContext context = performableTree.newRunContext(configuredEmbedder.configuration(),
-            new AllStepCandidates(configuredEmbedder.stepsFactory().createCandidateSteps()),
-            configuredEmbedder.embedderMonitor(),
-            configuredEmbedder.metaFilter(), failures);
+    private static Predicate<String> classNameFilter(EngineDiscoveryRequest discoveryRequest) {
+        List<DiscoveryFilter<String>> filters = new ArrayList<>();
+        filters.addAll(discoveryRequest.getFiltersByType(ClassNameFilter.class));
+        filters.addAll(discoveryRequest.getFiltersByType(PackageNameFilter.class));
+        return Filter.composeFilters(filters).toPredicate();
+    }
 
-        List<Story> stories = new ArrayList<>();
-        for (String storyPath : storyPaths) {
-            stories.add(performableTree.storyOfPath(configuredEmbedder.configuration(), storyPath));
+    /**
+     * @return names of the stories by the classes selected by the unique ids of their stories only
+     */
+    private static Map<String, Set<String>> selectedStories(EngineDiscoveryRequest discoveryRequest, UniqueId engineId) {
+        Set<String> wholeClasses = discoveryRequest.getSelectorsByType(ClassSelector.class).stream()
+            .map(ClassSelector::getClassName)
+            .collect(Collectors.toSet());
+        Map<String, Set<String>> selectedStories = new HashMap<>();
+        for (UniqueIdSelector selector : discoveryRequest.getSelectorsByType(UniqueIdSelector.class)) {
+            Optional<String> className = testClassName(selector.getUniqueId(), engineId);
+            if (!className.isPresent()) {
+                continue;
+            }
+            Optional<String> storyName = storyName(selector.getUniqueId());
+            if (storyName.isPresent()) {
+                selectedStories.computeIfAbsent(className.get(), name -> new HashSet<>()).add(storyName.get());
+            } else {
+                wholeClasses.add(className.get());
+            }
         }
-        performableTree.addStories(context, stories);
+        selectedStories.keySet().removeAll(wholeClasses);
+        return selectedStories;
+    }
 
-        return performableTree;
+    private static Optional<String> testClassName(UniqueId uniqueId, UniqueId engineId) {
+        List<UniqueId.Segment> segments = uniqueId.getSegments();
+        if (!uniqueId.hasPrefix(engineId) || segments.size() < 2 || !SEGMENT_TYPE_CLASS.equals(segments.get(1).getType())) {
+            return Optional.empty();
+        }
+        return Optional.of(segments.get(1).getValue());
+    }
+
+    /**
+     * @return name of the story of the unique id without the suffix making it unique, empty when the unique id
+     * is not within a story
+     */
+    private static Optional<String> storyName(UniqueId uniqueId) {
+        List<UniqueId.Segment> segments = uniqueId.getSegments();
+        if (segments.size() < 3 || !SEGMENT_TYPE_STORY.equals(segments.get(2).getType())) {
+            return Optional.empty();
+        }
+        String storyName = segments.get(2).getValue().replace("\u200B", "");
+        if (storyName.equals(STORIES_BEFORE) || storyName.equals(STORIES_AFTER)) {
+            return Optional.empty();
+        }
+        return Optional.of(storyName);
     }
 
-    private void setupNullStepMonitor(Embedder embedder) {
-        NullStepMonitor stepMonitor = new NullStepMonitor();
-        embedder.configuration().useStepMonitor(stepMonitor);
+    /**
+     * Completes the descriptors of the classes discovered in parallel, in the order the classes were resolved.
+     * The descriptors of the classes without any selected story are removed.
+     */
+    public void awaitDiscovery() {
+        pendingClasses.forEach((classDescriptor, discovery) -> {
+            Optional<DiscoveredClass> discoveredClass = discovery.join();
+            if (discoveredClass.isPresent()) {
+                discoveredClass.get().describe(classDescriptor);
+            } else {
+                classDescriptor.removeFromHierarchy();
+            }
+        });
+        pendingClasses.clear();
     }
 
-    @SneakyThrows({NoSuchMethodException.class, InvocationTargetException.class, IllegalAccessException.class})
-    @SuppressWarnings("unchecked")
-    private List<String> getStoryPaths(ConfigurableEmbedder configurableEmbedder) {
-        Method method = lookupStoryPathsMethod(configurableEmbedder.getClass());
-        method.setAccessible(true);
-        return ((List<String>) method.invoke(configurableEmbedder, (Object[]) null));
+    @Override
+    public void close() {
+        if (discoveryPool != null) {
+            discoveryPool.shutdownNow();
+        }
     }
 
-    private Method lookupStoryPathsMethod(Class<? extends ConfigurableEmbedder> testClass) throws NoSuchMethodException {
-        Method method;
-        try {
-            method = storyPathsLookup(testClass);
-        } catch (NoSuchMethodException e) {
-            method = testClass.getMethod(STORY_PATHS, (Class<?>[]) null);
+    /**
+     * @return stories of the test class, empty when the story filter removed all stories of the class
+     */
+    @SneakyThrows({NoSuchMethodException.class, IllegalAccessException.class, InvocationTargetException.class})
+    private Optional<DiscoveredClass> discoverClass(Class<? extends ConfigurableEmbedder> testClass, UniqueId classDescriptorId,
+                                                    Predicate<String> storyFilter) {
+        ConfigurableEmbedder configurableEmbedder = storiesFactory.apply(testClass);
+        Embedder configuredEmbedder = configurableEmbedder.configuredEmbedder();
+        EmbedderSupport.setupNullStepMonitor(configuredEmbedder);
+        List<String> allStoryPaths = EmbedderSupport.getStoryPaths(configurableEmbedder);
+        List<String> storyPaths = allStoryPaths.stream()
+            .filter(storyFilter)
+            .collect(Collectors.toList());
+        if (storyPaths.isEmpty() && !allStoryPaths.isEmpty()) {
+            return Optional.empty();
         }
-        return method;
+        StoryResult storyResult = getStoryResult(testClass, classDescriptorId, configuredEmbedder, storyPaths);
+        return Optional.of(new DiscoveredClass(storyPaths, configuredEmbedder, storyResult.getStoryDescriptors(),
+            retainPerformables && handsOutSameSteps(configuredEmbedder) ? storyResult.getPerformableStories() : Collections.emptyMap()));
     }
 
-    private Method storyPathsLookup(Class<?> clazz) throws NoSuchMethodException {
-        while (clazz != null) {
-            Method[] methods = clazz.getDeclaredMethods();
-            for (Method method : methods) {
-                // Test any other things about it beyond the name...
-                if (method.getName().equals(STORY_PATHS)) {
-                    return method;
-                }
+    /**
+     * The retained stories perform their steps by the steps instances of the discovery, they may be performed only
+     * when the steps factory hands out the same instances to the execution.
+     */
+    private static boolean handsOutSameSteps(Embedder configuredEmbedder) {
+        List<CandidateSteps> discoverySteps = configuredEmbedder.stepsFactory().createCandidateSteps();
+        List<CandidateSteps> executionSteps = configuredEmbedder.stepsFactory().createCandidateSteps();
+        if (discoverySteps.size() != executionSteps.size()) {
+            return false;
+        }
+        for (int i = 0; i < discoverySteps.size(); i++) {
+            if (!(discoverySteps.get(i) instanceof Steps) || !(executionSteps.get(i) instanceof Steps)
+                || ((Steps) discoverySteps.get(i)).instance() != ((Steps) executionSteps.get(i)).instance()) {
+                return false;
             }
-            clazz = clazz.getSuperclass();
         }
-        throw new NoSuchMethodException("Can not find method: " + STORY_PATHS);
+        return true;
+    }
+
+    /**
+     * Stories of a class discovered in parallel are loaded and matched in parallel too, on the same pool.
+     */
+    private boolean parallelStories() {
+        return discoveryPool != null;
+    }
+
+    private static ForkJoinPool createDiscoveryPool() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+    }
+
+    private StoryResult getStoryResult(Class<?> testClass, UniqueId parentId, Embedder configuredEmbedder, List<String> storyPaths) {
+        StoryResult storyResult;
+        if (lazyDiscovery) {
+            // scenarios and steps are registered dynamically when the class is executed
+            storyResult = StoryParser.parseStoryPaths(storyPaths, ReportLevel.valueOf(reportLevel), parentId);
+        } else if (storyIndex) {
+            storyResult = StoryIndex.load(testClass, configuredEmbedder, storyPaths, ReportLevel.valueOf(reportLevel), parentId)
+                .orElseGet(() -> StoryParser.parse(configuredEmbedder, storyPaths, ReportLevel.valueOf(reportLevel), parentId, parallelStories()));
+        } else {
+            storyResult = StoryParser.parse(configuredEmbedder, storyPaths, ReportLevel.valueOf(reportLevel), parentId, parallelStories());
+        }
+        return storyResult;
+    }
+
+    @RequiredArgsConstructor
+    private static final class DiscoveredClass {
+        private final List<String> storyPaths;
+        private final Embedder configuredEmbedder;
+        private final List<JBehaveTestDescriptor> storiesDescriptors;
+        private final Map<String, PerformableTree.PerformableStory> performableStories;
+
+        void describe(JBehaveTestDescriptor classDescriptor) {
+            classDescriptor.discovered(storyPaths, configuredEmbedder, performableStories);
+            storiesDescriptors.forEach(classDescriptor::addChild);
+        }
     }
 
 }
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.discovery;
+
+import lombok.SneakyThrows;
+import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_SCENARIO;
+
+/**
+ * Reverse index from the step methods to the unique ids of the steps performed by them. The index is built
+ * from the discovered step descriptors, so it is complete for the step report level only.
+ * <p>
+ * The index can be written into a file, one step per line as the method and the unique id separated by a tab,
+ * and the discovered tree can be reduced to the scenarios using the changed step methods or classes.
+ */
+public class StepUsageIndex {
+
+    public static final String STEP_INDEX_PROPERTY = "jbehave.discovery.step.index";
+    public static final String CHANGED_STEPS_PROPERTY = "jbehave.discovery.changed.steps";
+
+    private static final char METHOD_SEPARATOR = '#';
+    private static final int SCENARIO_SEGMENTS = 4;
+
+    private final Map<String, List<UniqueId>> usages = new TreeMap<>();
+
+    private StepUsageIndex() {
+    }
+
+    public static StepUsageIndex of(TestDescriptor engineDescriptor) {
+        StepUsageIndex index = new StepUsageIndex();
+        engineDescriptor.accept(descriptor -> {
+            if (descriptor instanceof JBehaveTestDescriptor && ((JBehaveTestDescriptor) descriptor).getStepMethod() != null) {
+                index.usages.computeIfAbsent(key(((JBehaveTestDescriptor) descriptor).getStepMethod()), key -> new ArrayList<>())
+                    .add(descriptor.getUniqueId());
+            }
+        });
+        return index;
+    }
+
+    /**
+     * @return declaring class and method with its parameter types, e.g. {@code com.app.LoginSteps#login(java.lang.String)}
+     */
+    public static String key(Method method) {
+        return method.getDeclaringClass().getName() + METHOD_SEPARATOR + method.getName()
+            + Arrays.stream(method.getParameterTypes()).map(Class::getTypeName).collect(Collectors.joining(",", "(", ")"));
+    }
+
+    public Map<String, List<UniqueId>> getUsages() {
+        return usages;
+    }
+
+    /**
+     * @param changed names of classes ({@code com.app.LoginSteps}), methods of any parameters
+     *                ({@code com.app.LoginSteps#login}) or methods as given by {@link #key(Method)}
+     * @return unique ids of the steps performed by the changed methods
+     */
+    public Set<UniqueId> usagesOf(Collection<String> changed) {
+        Set<UniqueId> result = new LinkedHashSet<>();
+        usages.forEach((key, uniqueIds) -> {
+            if (changed.stream().anyMatch(name -> matches(key, name.trim()))) {
+                result.addAll(uniqueIds);
+            }
+        });
+        return result;
+    }
+
+    private static boolean matches(String key, String name) {
+        return key.equals(name)
+            || key.startsWith(name) && (key.charAt(name.length()) == METHOD_SEPARATOR || key.charAt(name.length()) == '(');
+    }
+
+    @SneakyThrows(IOException.class)
+    public void write(Path path) {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(path, UTF_8)) {
+            for (Map.Entry<String, List<UniqueId>> usage : usages.entrySet()) {
+                for (UniqueId uniqueId : usage.getValue()) {
+                    writer.write(usage.getKey() + '\t' + uniqueId + '\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the scenarios which do not use any of the changed methods, the stories without scenarios
+     * and the classes without stories. The remaining scenarios are selected on their classes to be performed.
+     */
+    public void selectImpacted(TestDescriptor engineDescriptor, Collection<String> changed) {
+        Set<UniqueId> impactedScenarios = new HashSet<>();
+        for (UniqueId step : usagesOf(changed)) {
+            impactedScenarios.add(prefix(step, SCENARIO_SEGMENTS));
+        }
+        for (TestDescriptor child : new ArrayList<>(engineDescriptor.getChildren())) {
+            JBehaveTestDescriptor classDescriptor = (JBehaveTestDescriptor) child;
+            if (classDescriptor.isRunnable()) {
+                selectImpacted(classDescriptor, impactedScenarios);
+            }
+        }
+    }
+
+    private static void selectImpacted(JBehaveTestDescriptor classDescriptor, Set<UniqueId> impactedScenarios) {
+        Map<String, Set<Integer>> selection = new LinkedHashMap<>();
+        for (TestDescriptor story : new ArrayList<>(classDescriptor.getChildren())) {
+            String storyPath = ((JBehaveTestDescriptor) story).getStoryPath();
+            if (storyPath == null) {
+                continue;
+            }
+            Set<Integer> selected = new LinkedHashSet<>();
+            int index = 0;
+            for (TestDescriptor scenario : new ArrayList<>(story.getChildren())) {
+                if (!SEGMENT_TYPE_SCENARIO.equals(scenario.getUniqueId().getLastSegment().getType())) {
+                    continue;
+                }
+                if (impactedScenarios.contains(scenario.getUniqueId())) {
+                    selected.add(index);
+                } else {
+                    scenario.removeFromHierarchy();
+                }
+                index++;
+            }
+            if (selected.isEmpty()) {
+                story.removeFromHierarchy();
+            } else {
+                selection.put(storyPath, selected);
+            }
+        }
+        if (selection.isEmpty()) {
+            classDescriptor.removeFromHierarchy();
+        } else {
+            classDescriptor.selectScenarios(selection);
+        }
+    }
+
+    private static UniqueId prefix(UniqueId uniqueId, int segments) {
+        List<UniqueId.Segment> allSegments = uniqueId.getSegments();
+        UniqueId result = UniqueId.root(allSegments.get(0).getType(), allSegments.get(0).getValue());
+        for (int i = 1; i < Math.min(segments, allSegments.size()); i++) {
+            result = result.append(allSegments.get(i));
+        }
+        return result;
+    }
+}
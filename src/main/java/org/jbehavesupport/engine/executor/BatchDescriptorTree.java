@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.executor;
+
+import org.jbehavesupport.engine.descriptor.DescriptorTree;
+import org.junit.platform.engine.TestDescriptor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tree of a batch of classes, the root of the tree has the stories of all classes in the batch as its children.
+ */
+class BatchDescriptorTree extends DescriptorTree {
+
+    private final TestDescriptor root;
+    private final List<TestDescriptor> stories;
+
+    BatchDescriptorTree(TestDescriptor root, List<TestDescriptor> stories) {
+        this.root = root;
+        this.stories = stories;
+    }
+
+    @Override
+    public Collection<? extends TestDescriptor> getChildren(TestDescriptor node) {
+        return node == root ? stories : super.getChildren(node);
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.executor;
+
+import lombok.SneakyThrows;
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.embedder.Embedder;
+import org.jbehave.core.model.GivenStories;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.BeforeOrAfterStep;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehave.core.steps.StepCandidate;
+import org.jbehave.core.steps.Steps;
+import org.jbehavesupport.core.Fingerprints;
+import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jbehavesupport.core.tree.AbstractTreeBuilder.STORIES_AFTER;
+import static org.jbehavesupport.core.tree.AbstractTreeBuilder.STORIES_BEFORE;
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_STEP;
+
+/**
+ * Skips the stories which did not change since their last successful run. The fingerprint of a story covers its text,
+ * the texts of its transitive given stories and the bytecode of the steps classes whose candidates match its steps
+ * or which declare stories and scenarios hooks. Fingerprints of the successful stories are kept in a properties file,
+ * the failed stories are always run again.
+ */
+public class IncrementalExecution {
+
+    public static final String INCREMENTAL_PROPERTY = "jbehave.execution.incremental";
+    public static final String SKIP_REASON = "Unchanged since the last successful run";
+
+    private static final String KEY_SEPARATOR = "|";
+
+    private final Path store;
+    private final Properties fingerprints;
+    private final Map<UniqueId, String> executedStories = new ConcurrentHashMap<>();
+    private final Set<UniqueId> failedDescriptors = ConcurrentHashMap.newKeySet();
+
+    private IncrementalExecution(Path store, Properties fingerprints) {
+        this.store = store;
+        this.fingerprints = fingerprints;
+    }
+
+    @SneakyThrows(IOException.class)
+    public static IncrementalExecution load(Path store) {
+        Properties fingerprints = new Properties();
+        if (Files.exists(store)) {
+            try (Reader reader = Files.newBufferedReader(store, UTF_8)) {
+                fingerprints.load(reader);
+            }
+        }
+        return new IncrementalExecution(store, fingerprints);
+    }
+
+    /**
+     * @return listener remembering the failed stories before passing the events to the delegate
+     */
+    public EngineExecutionListener listener(EngineExecutionListener delegate) {
+        return new EngineExecutionListener() {
+            @Override
+            public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+                delegate.dynamicTestRegistered(testDescriptor);
+            }
+
+            @Override
+            public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+                delegate.executionSkipped(testDescriptor, reason);
+            }
+
+            @Override
+            public void executionStarted(TestDescriptor testDescriptor) {
+                delegate.executionStarted(testDescriptor);
+            }
+
+            @Override
+            public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+                if (testExecutionResult.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+                    failed(testDescriptor);
+                }
+                delegate.executionFinished(testDescriptor, testExecutionResult);
+            }
+
+            @Override
+            public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+                delegate.reportingEntryPublished(testDescriptor, entry);
+            }
+        };
+    }
+
+    /**
+     * Computes fingerprints of the stories of the class and remembers the changed ones to be recorded
+     * by {@link #finished(JBehaveTestDescriptor)}.
+     *
+     * @return descriptors of the unchanged stories by their paths
+     */
+    public Map<String, TestDescriptor> unchangedStories(JBehaveTestDescriptor classDescriptor) {
+        Embedder embedder = classDescriptor.getConfiguredEmbedder();
+        StoryFingerprints storyFingerprints = new StoryFingerprints(embedder);
+        Map<String, TestDescriptor> unchanged = new LinkedHashMap<>();
+        for (TestDescriptor storyDescriptor : classDescriptor.getChildren()) {
+            String storyPath = ((JBehaveTestDescriptor) storyDescriptor).getStoryPath();
+            if (storyPath == null) {
+                continue;
+            }
+            String key = classDescriptor.getUniqueId() + KEY_SEPARATOR + storyPath;
+            String fingerprint = storyFingerprints.of(storyDescriptor, storyPath);
+            if (fingerprint.equals(fingerprints.getProperty(key))) {
+                unchanged.put(storyPath, storyDescriptor);
+            } else {
+                executedStories.put(storyDescriptor.getUniqueId(), key + KEY_SEPARATOR + fingerprint);
+            }
+        }
+        return unchanged;
+    }
+
+    /**
+     * Records fingerprints of the successful stories of the class and forgets the failed ones.
+     */
+    public void finished(JBehaveTestDescriptor classDescriptor) {
+        boolean classFailed = failedDescriptors.contains(classDescriptor.getUniqueId());
+        for (TestDescriptor storyDescriptor : classDescriptor.getChildren()) {
+            String record = executedStories.remove(storyDescriptor.getUniqueId());
+            if (record == null) {
+                continue;
+            }
+            int separator = record.lastIndexOf(KEY_SEPARATOR);
+            String key = record.substring(0, separator);
+            synchronized (fingerprints) {
+                if (classFailed || failedDescriptors.contains(storyDescriptor.getUniqueId())) {
+                    fingerprints.remove(key);
+                } else {
+                    fingerprints.setProperty(key, record.substring(separator + 1));
+                }
+            }
+        }
+    }
+
+    @SneakyThrows(IOException.class)
+    public void save() {
+        Path parent = store.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        synchronized (fingerprints) {
+            try (Writer writer = Files.newBufferedWriter(store, UTF_8)) {
+                fingerprints.store(writer, "Fingerprints of the successful stories");
+            }
+        }
+    }
+
+    /**
+     * Failure of a story or of its descendants fails the story, failure of the class or of its BeforeStories
+     * and AfterStories fails all stories of the class.
+     */
+    private void failed(TestDescriptor testDescriptor) {
+        List<UniqueId.Segment> segments = testDescriptor.getUniqueId().getSegments();
+        if (segments.size() < 2) {
+            return;
+        }
+        UniqueId classId = UniqueId.root(segments.get(0).getType(), segments.get(0).getValue()).append(segments.get(1));
+        if (segments.size() == 2 || isStoriesSteps(testDescriptor)) {
+            failedDescriptors.add(classId);
+        } else {
+            failedDescriptors.add(classId.append(segments.get(2)));
+        }
+    }
+
+    private static boolean isStoriesSteps(TestDescriptor descriptor) {
+        return descriptor.isTest()
+            && (descriptor.getDisplayName().startsWith(STORIES_BEFORE) || descriptor.getDisplayName().startsWith(STORIES_AFTER));
+    }
+
+    /**
+     * Fingerprints of the stories of one embedder, the bytecode of the steps classes is hashed only once.
+     * The steps of a story discovered on the step report level are not matched again, the classes declaring
+     * their methods are taken from the descriptors. The steps of the given stories and of the lifecycle
+     * are not discovered, so they are matched.
+     */
+    private static class StoryFingerprints {
+
+        private final Configuration configuration;
+        private final List<StepCandidate> candidates = new ArrayList<>();
+        private final Set<Class<?>> hookTypes = new HashSet<>();
+        private final Map<Class<?>, String> typeHashes = new HashMap<>();
+
+        StoryFingerprints(Embedder embedder) {
+            this.configuration = embedder.configuration();
+            for (CandidateSteps candidateSteps : embedder.stepsFactory().createCandidateSteps()) {
+                candidates.addAll(candidateSteps.listCandidates());
+                if (hasHooks(candidateSteps)) {
+                    hookTypes.add(candidateSteps instanceof Steps ? ((Steps) candidateSteps).type() : candidateSteps.getClass());
+                }
+            }
+        }
+
+        private static boolean hasHooks(CandidateSteps candidateSteps) {
+            return !candidateSteps.listBeforeStories().isEmpty()
+                || !candidateSteps.listAfterStories().isEmpty()
+                || !candidateSteps.listBeforeStory(false).isEmpty()
+                || !candidateSteps.listAfterStory(false).isEmpty()
+                || !candidateSteps.listBeforeStory(true).isEmpty()
+                || !candidateSteps.listAfterStory(true).isEmpty()
+                || hasHooks(candidateSteps.listBeforeScenario().values())
+                || hasHooks(candidateSteps.listAfterScenario().values());
+        }
+
+        private static boolean hasHooks(Collection<List<BeforeOrAfterStep>> hooks) {
+            return hooks.stream().anyMatch(list -> !list.isEmpty());
+        }
+
+        String of(TestDescriptor storyDescriptor, String storyPath) {
+            Set<Class<?>> types = new HashSet<>();
+            boolean discoveredSteps = discoveredTypes(storyDescriptor, types);
+            MessageDigest digest = Fingerprints.newDigest();
+            Set<String> visitedPaths = new HashSet<>();
+            List<String> steps = new ArrayList<>();
+            Deque<String> paths = new ArrayDeque<>();
+            paths.add(storyPath);
+            while (!paths.isEmpty()) {
+                String path = paths.poll();
+                if (!visitedPaths.add(path)) {
+                    continue;
+                }
+                String storyAsText = configuration.storyLoader().loadStoryAsText(path);
+                digest.update(path.getBytes(UTF_8));
+                digest.update(storyAsText.getBytes(UTF_8));
+                Story story = configuration.storyParser().parseStory(storyAsText, path);
+                addGivenStories(paths, path, story.getGivenStories());
+                steps.addAll(story.getLifecycle().getBeforeSteps());
+                steps.addAll(story.getLifecycle().getAfterSteps());
+                for (Scenario scenario : story.getScenarios()) {
+                    addGivenStories(paths, path, scenario.getGivenStories());
+                    if (!discoveredSteps || !path.equals(storyPath)) {
+                        steps.addAll(scenario.getSteps());
+                    }
+                }
+            }
+            types.addAll(matchedTypes(steps));
+            types.addAll(hookTypes);
+            // sorted to keep the fingerprint independent of the order of the steps classes
+            Set<String> sortedHashes = new TreeSet<>();
+            types.forEach(type -> sortedHashes.add(hash(type)));
+            sortedHashes.forEach(type -> digest.update(type.getBytes(UTF_8)));
+            return Fingerprints.toHex(digest.digest());
+        }
+
+        /**
+         * Adds the classes declaring the methods of the discovered steps of the story.
+         *
+         * @return the steps of the story were discovered
+         */
+        private static boolean discoveredTypes(TestDescriptor storyDescriptor, Set<Class<?>> types) {
+            boolean[] discovered = {false};
+            storyDescriptor.accept(descriptor -> {
+                if (descriptor != storyDescriptor
+                    && SEGMENT_TYPE_STEP.equals(descriptor.getUniqueId().getLastSegment().getType())) {
+                    discovered[0] = true;
+                    Method stepMethod = ((JBehaveTestDescriptor) descriptor).getStepMethod();
+                    if (stepMethod != null) {
+                        types.add(stepMethod.getDeclaringClass());
+                    }
+                }
+            });
+            return discovered[0];
+        }
+
+        private void addGivenStories(Deque<String> paths, String path, GivenStories givenStories) {
+            givenStories.getPaths()
+                .forEach(givenStoryPath -> paths.add(configuration.pathCalculator().calculate(path, givenStoryPath)));
+        }
+
+        /**
+         * @return types of the candidates matching the steps, including the steps composed by the matched candidates
+         */
+        private Set<Class<?>> matchedTypes(List<String> steps) {
+            Set<Class<?>> types = new HashSet<>();
+            Set<String> visitedSteps = new HashSet<>();
+            Deque<List<String>> stepLists = new ArrayDeque<>();
+            stepLists.add(steps);
+            while (!stepLists.isEmpty()) {
+                String previousNonAndStep = null;
+                for (String step : stepLists.poll()) {
+                    for (StepCandidate candidate : candidates) {
+                        if (candidate.matches(step, previousNonAndStep)) {
+                            types.add(candidate.getStepsType());
+                            if (candidate.isComposite() && visitedSteps.add(candidate.getPatternAsString())) {
+                                stepLists.add(Arrays.asList(candidate.composedSteps()));
+                            }
+                            break;
+                        }
+                    }
+                    if (!configuration.keywords().isAndStep(step)) {
+                        previousNonAndStep = step;
+                    }
+                }
+            }
+            return types;
+        }
+
+        private String hash(Class<?> type) {
+            return typeHashes.computeIfAbsent(type, Fingerprints::of);
+        }
+    }
+}
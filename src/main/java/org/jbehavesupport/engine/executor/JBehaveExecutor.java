@@ -20,58 +20,305 @@
 package org.jbehavesupport.engine.executor;
 
 import org.jbehave.core.embedder.Embedder;
+import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.reporters.Format;
 import org.jbehave.core.reporters.StoryReporter;
+import org.jbehavesupport.core.StoryExecutors;
+import org.jbehavesupport.core.reporter.LoggingLevel;
+import org.jbehavesupport.core.reporter.LoggingReporter;
+import org.jbehavesupport.core.reporter.ThreadLocalReporter;
+import org.jbehavesupport.engine.descriptor.DescriptorTree;
 import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
+import org.jbehavesupport.engine.descriptor.StoryParser;
+import org.jbehavesupport.engine.descriptor.StoryResult;
 import org.jbehavesupport.engine.reporter.ReportLevel;
+import org.jbehavesupport.engine.reporter.ScenarioLoggingReporter;
 import org.jbehavesupport.engine.reporter.StepLoggingReporter;
 import org.jbehavesupport.engine.reporter.StoryLoggingReporter;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import static org.jbehavesupport.core.StoryExecutors.VIRTUAL_THREADS_PROPERTY;
+import static org.jbehavesupport.core.tree.AbstractTreeBuilder.STORIES_AFTER;
+import static org.jbehavesupport.core.tree.AbstractTreeBuilder.STORIES_BEFORE;
+import static org.jbehavesupport.engine.discovery.JBehaveSelectorResolver.LAZY_DISCOVERY_PROPERTY;
+import static org.jbehavesupport.engine.executor.StoriesLifecycle.STORIES_LIFECYCLE_PROPERTY;
 import static org.jbehavesupport.engine.reporter.ReportLevel.REPORT_LEVEL_PROPERTY;
 import static org.jbehavesupport.engine.reporter.ReportLevel.STEP;
+import static org.jbehavesupport.core.reporter.LoggingLevel.LOGGING_ASYNC_PROPERTY;
+import static org.jbehavesupport.core.reporter.LoggingLevel.LOGGING_LEVEL_PROPERTY;
 
 public class JBehaveExecutor {
 
     public JBehaveExecutor(ExecutionRequest request) {
-        this.engineExecutionListener = request.getEngineExecutionListener();
+        this(request, request.getEngineExecutionListener());
+    }
+
+    public JBehaveExecutor(ExecutionRequest request, EngineExecutionListener engineExecutionListener) {
+        this(request, engineExecutionListener, Optional.empty());
+    }
+
+    public JBehaveExecutor(ExecutionRequest request, EngineExecutionListener engineExecutionListener,
+                           Optional<IncrementalExecution> incrementalExecution) {
+        this.engineExecutionListener = engineExecutionListener;
         this.reportLevel = request.getConfigurationParameters().get(REPORT_LEVEL_PROPERTY).orElse(STEP.name());
+        this.loggingLevel = request.getConfigurationParameters().get(LOGGING_LEVEL_PROPERTY).orElse(LoggingLevel.STEP.name());
+        this.asyncLogging = request.getConfigurationParameters().getBoolean(LOGGING_ASYNC_PROPERTY).orElse(false);
+        this.lazyDiscovery = request.getConfigurationParameters().getBoolean(LAZY_DISCOVERY_PROPERTY).orElse(false);
+        this.storiesLifecycle = request.getConfigurationParameters().get(STORIES_LIFECYCLE_PROPERTY).orElse(StoriesLifecycle.CLASS.name());
+        this.virtualThreads = request.getConfigurationParameters().getBoolean(VIRTUAL_THREADS_PROPERTY).orElse(false)
+            && StoryExecutors.supportsVirtualThreads();
+        this.incrementalExecution = incrementalExecution;
     }
 
     private final EngineExecutionListener engineExecutionListener;
     private final String reportLevel;
+    private final String loggingLevel;
+    private final boolean asyncLogging;
+    private final boolean lazyDiscovery;
+    private final String storiesLifecycle;
+    private final boolean virtualThreads;
+    private final Optional<IncrementalExecution> incrementalExecution;
 
     public void execute(JBehaveTestDescriptor testDescriptor) {
-        List<String> storyPaths = testDescriptor.getStoryPaths();
-        Embedder configuredEmbedder = testDescriptor.getConfiguredEmbedder();
+        execute(Collections.singletonList(testDescriptor));
+    }
+
+    public void execute(List<JBehaveTestDescriptor> batch) {
+        execute(batch, batch.get(0), batch.get(batch.size() - 1), new AtomicReference<>(), unchangedStories(batch));
+    }
+
+    /**
+     * Executes the batches in the given order. In the {@link StoriesLifecycle#ENGINE} lifecycle the BeforeStories
+     * steps are performed by the first batch and AfterStories steps by the last batch having the same types of steps
+     * and running any story, the batches whose stories are all unchanged since their last successful run are skipped.
+     * The AfterStories steps are built by the first batch, so that they are performed by the steps instances
+     * which performed the BeforeStories steps.
+     */
+    public void executeBatches(List<List<JBehaveTestDescriptor>> batches) {
+        if (StoriesLifecycle.valueOf(storiesLifecycle) == StoriesLifecycle.CLASS) {
+            batches.forEach(this::execute);
+            return;
+        }
+        List<String> stepsKeys = batches.stream()
+            .map(batch -> StoryBatches.stepsKey(batch.get(0).getConfiguredEmbedder()))
+            .collect(Collectors.toList());
+        List<Map<JBehaveTestDescriptor, Map<String, TestDescriptor>>> unchangedStories = batches.stream()
+            .map(this::unchangedStories)
+            .collect(Collectors.toList());
+        Map<String, JBehaveTestDescriptor> beforeStoriesBy = new HashMap<>();
+        Map<String, JBehaveTestDescriptor> afterStoriesBy = new HashMap<>();
+        Map<String, AtomicReference<PerformableTree.PerformableSteps>> afterStoriesSteps = new HashMap<>();
+        for (int i = 0; i < batches.size(); i++) {
+            List<JBehaveTestDescriptor> batch = batches.get(i);
+            afterStoriesSteps.putIfAbsent(stepsKeys.get(i), new AtomicReference<>());
+            if (runsStories(batch, unchangedStories.get(i))) {
+                beforeStoriesBy.putIfAbsent(stepsKeys.get(i), batch.get(0));
+                afterStoriesBy.put(stepsKeys.get(i), batch.get(batch.size() - 1));
+            }
+        }
+        for (int i = 0; i < batches.size(); i++) {
+            String stepsKey = stepsKeys.get(i);
+            execute(batches.get(i), beforeStoriesBy.get(stepsKey), afterStoriesBy.get(stepsKey), afterStoriesSteps.get(stepsKey),
+                unchangedStories.get(i));
+        }
+    }
 
-        StoryReporter junitReporter = resolveReporter(reportLevel, configuredEmbedder, testDescriptor);
+    /**
+     * Runs the stories of all classes of the batch by one run of the embedder of the first class.
+     * BeforeStories and AfterStories are performed and reported only by the given classes, the others are skipped.
+     * In the incremental execution the stories unchanged since their last successful run are skipped.
+     */
+    private void execute(List<JBehaveTestDescriptor> batch, JBehaveTestDescriptor beforeStoriesBy, JBehaveTestDescriptor afterStoriesBy,
+                         AtomicReference<PerformableTree.PerformableSteps> afterStoriesSteps,
+                         Map<JBehaveTestDescriptor, Map<String, TestDescriptor>> unchangedByClass) {
+        JBehaveTestDescriptor first = batch.get(0);
+        JBehaveTestDescriptor last = batch.get(batch.size() - 1);
+        Embedder configuredEmbedder = first.getConfiguredEmbedder();
+        Map<String, Set<Integer>> scenarioSelection = new HashMap<>();
+        Map<String, PerformableTree.PerformableStory> performableStories = new HashMap<>();
+        batch.forEach(testDescriptor -> {
+            scenarioSelection.putAll(testDescriptor.getScenarioSelection());
+            performableStories.putAll(testDescriptor.getPerformableStories());
+        });
 
-        configuredEmbedder.configuration()
+        Map<JBehaveTestDescriptor, List<String>> changedStoryPaths = new HashMap<>();
+        List<TestDescriptor> unchangedStories = new ArrayList<>();
+        List<String> storyPaths = new ArrayList<>();
+        List<TestDescriptor> stories = new ArrayList<>();
+        for (JBehaveTestDescriptor testDescriptor : batch) {
+            Map<String, TestDescriptor> unchanged = unchangedByClass.get(testDescriptor);
+            List<String> changed = changedStoryPaths(testDescriptor, unchanged);
+            changedStoryPaths.put(testDescriptor, changed);
+            unchangedStories.addAll(unchanged.values());
+            storyPaths.addAll(changed);
+            testDescriptor.getChildren()
+                .stream()
+                .filter(child -> !unchanged.containsValue(child))
+                .filter(child -> testDescriptor == beforeStoriesBy || !isStoriesSteps(child, STORIES_BEFORE))
+                .filter(child -> testDescriptor == afterStoriesBy || !isStoriesSteps(child, STORIES_AFTER))
+                .forEach(stories::add);
+        }
+
+        DescriptorTree tree = new BatchDescriptorTree(first, stories);
+        Supplier<LoggingReporter> reporterFactory = () -> resolveReporter(reportLevel, configuredEmbedder, tree, first)
+            .useLoggingLevel(LoggingLevel.valueOf(loggingLevel))
+            .doAsyncLogging(asyncLogging);
+        Optional<ExecutorService> virtualThreadExecutor = virtualThreads
+            ? StoryExecutors.virtualThreadExecutor()
+            : Optional.empty();
+        virtualThreadExecutor.ifPresent(configuredEmbedder::useExecutorService);
+        boolean parallelStories = virtualThreadExecutor.isPresent() || configuredEmbedder.embedderControls().threads() > 1;
+        configuredEmbedder.usePerformableTree(new StoriesStepsPerformableTree(beforeStoriesBy == first, afterStoriesBy == last,
+            scenarioSelection, performableStories).withSharedAfterStories(afterStoriesSteps).withParallelStories(parallelStories));
+        // stories running in parallel report to their own reporters
+        StoryReporter junitReporter = parallelStories
+            ? new ThreadLocalReporter(reporterFactory)
+            : reporterFactory.get();
+
+        List<Format> formats = configuredEmbedder.configuration()
             .storyReporterBuilder()
-            .withReporters(junitReporter);
+            .withReporters(junitReporter)
+            .formats();
+        Format junitFormat = formats.get(formats.size() - 1);
 
-        engineExecutionListener.executionStarted(testDescriptor);
+        batch.forEach(engineExecutionListener::executionStarted);
         try {
-            configuredEmbedder.runStoriesAsPaths(storyPaths);
-            engineExecutionListener.executionFinished(testDescriptor, TestExecutionResult.successful());
+            unchangedStories.forEach(story -> engineExecutionListener.executionSkipped(story, IncrementalExecution.SKIP_REASON));
+            if (!runsStories(batch, unchangedByClass)) {
+                // nothing changed, the stories steps are not worth performing
+                batch.stream()
+                    .flatMap(testDescriptor -> testDescriptor.getChildren().stream())
+                    .filter(child -> isStoriesSteps(child, STORIES_BEFORE) || isStoriesSteps(child, STORIES_AFTER))
+                    .forEach(child -> engineExecutionListener.executionSkipped(child, IncrementalExecution.SKIP_REASON));
+            } else {
+                if (lazyDiscovery && ReportLevel.valueOf(reportLevel) != ReportLevel.STORY) {
+                    batch.forEach(testDescriptor -> performableStories.putAll(registerScenarios(testDescriptor,
+                        testDescriptor.getConfiguredEmbedder(), changedStoryPaths.get(testDescriptor))));
+                }
+                skipStoriesSteps(batch, STORIES_BEFORE, beforeStoriesBy);
+                configuredEmbedder.runStoriesAsPaths(storyPaths);
+                skipStoriesSteps(batch, STORIES_AFTER, afterStoriesBy);
+            }
+            batch.forEach(testDescriptor -> engineExecutionListener.executionFinished(testDescriptor, TestExecutionResult.successful()));
         } catch (Throwable e) {
-            engineExecutionListener.executionFinished(testDescriptor, TestExecutionResult.failed(e));
+            batch.forEach(testDescriptor -> engineExecutionListener.executionFinished(testDescriptor, TestExecutionResult.failed(e)));
             throw new RuntimeException(e);
         } finally {
-            configuredEmbedder.generateSurefireReport();
+            try {
+                virtualThreadExecutor.ifPresent(executor -> {
+                    executor.shutdown();
+                    // the embedder may be run again, e.g. in the watch mode
+                    configuredEmbedder.useExecutorService(null);
+                });
+                configuredEmbedder.generateSurefireReport();
+            } finally {
+                // the reporter of this run must not receive the events of the next run of the same embedder
+                formats.remove(junitFormat);
+                incrementalExecution.ifPresent(incremental -> batch.forEach(incremental::finished));
+                batch.forEach(JBehaveTestDescriptor::release);
+            }
         }
     }
 
-    private StoryReporter resolveReporter(String reportLevel, Embedder configuredEmbedder, JBehaveTestDescriptor testDescriptor) {
+    /**
+     * Computes the stories of each class of the batch unchanged since their last successful run,
+     * there are none without the incremental execution.
+     */
+    private Map<JBehaveTestDescriptor, Map<String, TestDescriptor>> unchangedStories(List<JBehaveTestDescriptor> batch) {
+        Map<JBehaveTestDescriptor, Map<String, TestDescriptor>> unchangedByClass = new HashMap<>();
+        batch.forEach(testDescriptor -> unchangedByClass.put(testDescriptor, incrementalExecution
+            .map(incremental -> incremental.unchangedStories(testDescriptor))
+            .orElse(Collections.emptyMap())));
+        return unchangedByClass;
+    }
+
+    private static List<String> changedStoryPaths(JBehaveTestDescriptor testDescriptor, Map<String, TestDescriptor> unchanged) {
+        return testDescriptor.getStoryPaths()
+            .stream()
+            .filter(storyPath -> !unchanged.containsKey(storyPath))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * A batch whose stories are all unchanged is skipped with its stories steps, they are not worth performing.
+     */
+    private static boolean runsStories(List<JBehaveTestDescriptor> batch,
+                                       Map<JBehaveTestDescriptor, Map<String, TestDescriptor>> unchangedByClass) {
+        boolean anyUnchanged = batch.stream()
+            .anyMatch(testDescriptor -> !unchangedByClass.get(testDescriptor).isEmpty());
+        boolean anyChanged = batch.stream()
+            .anyMatch(testDescriptor -> !changedStoryPaths(testDescriptor, unchangedByClass.get(testDescriptor)).isEmpty());
+        return anyChanged || !anyUnchanged;
+    }
+
+    private void skipStoriesSteps(List<JBehaveTestDescriptor> batch, String storiesSteps, JBehaveTestDescriptor executedBy) {
+        batch.stream()
+            .filter(testDescriptor -> testDescriptor != executedBy)
+            .flatMap(testDescriptor -> testDescriptor.getChildren().stream())
+            .filter(child -> isStoriesSteps(child, storiesSteps))
+            .forEach(child -> engineExecutionListener.executionSkipped(child,
+                storiesSteps + " executed once by " + executedBy.getDisplayName()));
+    }
+
+    private static boolean isStoriesSteps(TestDescriptor descriptor, String storiesSteps) {
+        return descriptor.isTest() && descriptor.getDisplayName().startsWith(storiesSteps);
+    }
+
+    /**
+     * Builds the whole tree of the class and moves the scenarios and steps under the story descriptors
+     * created by the lazy discovery, each of them is announced as dynamic test.
+     *
+     * @return performable stories built for the tree
+     */
+    private Map<String, PerformableTree.PerformableStory> registerScenarios(JBehaveTestDescriptor testDescriptor,
+                                                                           Embedder configuredEmbedder, List<String> storyPaths) {
+        Map<UniqueId, TestDescriptor> storyDescriptors = new HashMap<>();
+        testDescriptor.getChildren().forEach(storyDescriptor -> storyDescriptors.put(storyDescriptor.getUniqueId(), storyDescriptor));
+
+        StoryResult storyResult = StoryParser.parse(configuredEmbedder, storyPaths, ReportLevel.valueOf(reportLevel),
+            testDescriptor.getUniqueId());
+        for (JBehaveTestDescriptor builtDescriptor : storyResult.getStoryDescriptors()) {
+            TestDescriptor storyDescriptor = storyDescriptors.get(builtDescriptor.getUniqueId());
+            if (storyDescriptor != null) {
+                for (TestDescriptor child : new ArrayList<>(builtDescriptor.getChildren())) {
+                    storyDescriptor.addChild(child);
+                    registerDynamicTest(child);
+                }
+            }
+        }
+        return storyResult.getPerformableStories();
+    }
+
+    private void registerDynamicTest(TestDescriptor descriptor) {
+        engineExecutionListener.dynamicTestRegistered(descriptor);
+        descriptor.getChildren().forEach(this::registerDynamicTest);
+    }
+
+    private LoggingReporter resolveReporter(String reportLevel, Embedder configuredEmbedder, DescriptorTree tree,
+                                            JBehaveTestDescriptor testDescriptor) {
         switch (ReportLevel.valueOf(reportLevel)) {
             case STEP:
-                return new StepLoggingReporter(engineExecutionListener, testDescriptor, configuredEmbedder.configuration());
+                return new StepLoggingReporter(engineExecutionListener, tree, testDescriptor, configuredEmbedder.configuration());
+            case SCENARIO:
+                return new ScenarioLoggingReporter(engineExecutionListener, tree, testDescriptor, configuredEmbedder.configuration());
             case STORY:
-                return new StoryLoggingReporter(engineExecutionListener, testDescriptor, configuredEmbedder.configuration());
+                return new StoryLoggingReporter(engineExecutionListener, tree, testDescriptor, configuredEmbedder.configuration());
             default:
                 throw new IllegalStateException("Report level does not exists: " + reportLevel);
         }
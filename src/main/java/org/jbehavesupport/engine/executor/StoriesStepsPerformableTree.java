@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.executor;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.StepCollector;
+import org.jbehavesupport.core.MemoizingPerformableTree;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Performable tree which can leave out BeforeStories or AfterStories steps, because they are performed
+ * by the run of another class, and the scenarios which are not selected. The stories already built
+ * by the discovery are performed as they are, their steps are not matched again.
+ */
+class StoriesStepsPerformableTree extends MemoizingPerformableTree {
+
+    private final boolean beforeStories;
+    private final boolean afterStories;
+    private final Map<String, Set<Integer>> scenarioSelection;
+    private final Map<String, PerformableStory> performableStories;
+    private AtomicReference<PerformableSteps> sharedAfterStories = new AtomicReference<>();
+
+    StoriesStepsPerformableTree(boolean beforeStories, boolean afterStories) {
+        this(beforeStories, afterStories, Collections.emptyMap());
+    }
+
+    /**
+     * @param scenarioSelection indexes of the scenarios to perform by the story paths, the stories not present
+     *                          in the selection perform all their scenarios
+     */
+    StoriesStepsPerformableTree(boolean beforeStories, boolean afterStories, Map<String, Set<Integer>> scenarioSelection) {
+        this(beforeStories, afterStories, scenarioSelection, Collections.emptyMap());
+    }
+
+    /**
+     * @param performableStories stories built by the discovery by their paths, each of them is performed once
+     *                           instead of building it again
+     */
+    StoriesStepsPerformableTree(boolean beforeStories, boolean afterStories, Map<String, Set<Integer>> scenarioSelection,
+                                Map<String, PerformableStory> performableStories) {
+        this.beforeStories = beforeStories;
+        this.afterStories = afterStories;
+        this.scenarioSelection = scenarioSelection;
+        this.performableStories = performableStories;
+    }
+
+    /**
+     * Shares the AfterStories steps with the runs of the other classes, the run performing the BeforeStories steps
+     * builds them from its own steps instances and the run performing the AfterStories steps performs them. So both
+     * are performed by the same steps instances, even when each class creates its own.
+     */
+    StoriesStepsPerformableTree withSharedAfterStories(AtomicReference<PerformableSteps> sharedAfterStories) {
+        this.sharedAfterStories = sharedAfterStories;
+        return this;
+    }
+
+    /**
+     * The stories performed by the run are loaded before they are added, the ones built by the discovery are not
+     * loaded again. The given stories are always loaded, they may be memoized.
+     */
+    @Override
+    public Story storyOfPath(Configuration configuration, String storyPath) {
+        PerformableStory performableStory = isAddingStories() ? null : performableStories.get(storyPath);
+        return performableStory != null ? performableStory.getStory() : super.storyOfPath(configuration, storyPath);
+    }
+
+    /**
+     * The stories built by the discovery are added without scenarios first and then replaced at their place.
+     */
+    @Override
+    public void addStories(RunContext context, List<Story> stories) {
+        super.addStories(context, stories.stream()
+            .map(story -> performableStories.containsKey(story.getPath())
+                ? story.cloneWithScenarios(Collections.emptyList())
+                : story)
+            .collect(Collectors.toList()));
+        if (beforeStories) {
+            sharedAfterStories.set(context.afterStoriesSteps());
+        }
+        if (afterStories && sharedAfterStories.get() != null) {
+            getRoot().addAfterSteps(sharedAfterStories.get());
+        }
+        for (Story story : stories) {
+            PerformableStory performableStory = performableStories.remove(story.getPath());
+            if (performableStory != null) {
+                getRoot().add(performableStory);
+                parallelizeExamples(performableStory);
+            }
+        }
+        for (Story story : stories) {
+            Set<Integer> selected = scenarioSelection.get(story.getPath());
+            if (selected != null) {
+                List<PerformableScenario> scenarios = getRoot().get(story).getScenarios();
+                for (int i = scenarios.size() - 1; i >= 0; i--) {
+                    if (!selected.contains(i)) {
+                        scenarios.remove(i);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean performsStoriesSteps(StepCollector.Stage stage) {
+        return stage == StepCollector.Stage.BEFORE ? beforeStories : afterStories;
+    }
+}
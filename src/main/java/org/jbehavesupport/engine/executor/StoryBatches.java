@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.executor;
+
+import org.jbehave.core.embedder.Embedder;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehave.core.steps.Steps;
+import org.jbehavesupport.core.EmbedderSupport;
+import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Groups test classes which can be run by one embedder. Classes are equivalent when they have the same type of
+ * configuration, the same embedder controls and the same types of steps. Classes with stories of the same name are
+ * put into different batches, because the stories are matched to their descriptors by name.
+ */
+public class StoryBatches {
+
+    private StoryBatches() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return batches in the order of their first class, classes keep their order inside of the batch
+     */
+    public static List<List<JBehaveTestDescriptor>> group(List<? extends JBehaveTestDescriptor> testDescriptors) {
+        List<List<JBehaveTestDescriptor>> result = new ArrayList<>();
+        Map<String, List<List<JBehaveTestDescriptor>>> batchesByKey = new HashMap<>();
+        for (JBehaveTestDescriptor testDescriptor : testDescriptors) {
+            List<List<JBehaveTestDescriptor>> batches = batchesByKey.computeIfAbsent(
+                batchKey(testDescriptor.getConfiguredEmbedder()), key -> new ArrayList<>());
+            List<JBehaveTestDescriptor> batch = batches.stream()
+                .filter(candidate -> !hasCommonStory(candidate, testDescriptor))
+                .findFirst()
+                .orElseGet(() -> {
+                    List<JBehaveTestDescriptor> newBatch = new ArrayList<>();
+                    batches.add(newBatch);
+                    result.add(newBatch);
+                    return newBatch;
+                });
+            batch.add(testDescriptor);
+        }
+        return result;
+    }
+
+    static String batchKey(Embedder embedder) {
+        return embedder.configuration().getClass().getName() + "|" + embedder.embedderControls() + "|" + stepsKey(embedder);
+    }
+
+    /**
+     * @return sorted types of the steps of the embedder
+     */
+    public static String stepsKey(Embedder embedder) {
+        return embedder.stepsFactory()
+            .createCandidateSteps()
+            .stream()
+            .map(StoryBatches::stepsType)
+            .sorted()
+            .collect(Collectors.joining(","));
+    }
+
+    private static String stepsType(CandidateSteps candidateSteps) {
+        if (candidateSteps instanceof Steps) {
+            return ((Steps) candidateSteps).type().getName();
+        }
+        return candidateSteps.getClass().getName();
+    }
+
+    private static boolean hasCommonStory(List<JBehaveTestDescriptor> batch, JBehaveTestDescriptor testDescriptor) {
+        Set<String> storyNames = new HashSet<>();
+        batch.forEach(batchDescriptor -> batchDescriptor.getStoryPaths()
+            .forEach(storyPath -> storyNames.add(EmbedderSupport.getStoryName(storyPath))));
+        return testDescriptor.getStoryPaths()
+            .stream()
+            .map(EmbedderSupport::getStoryName)
+            .anyMatch(storyNames::contains);
+    }
+}
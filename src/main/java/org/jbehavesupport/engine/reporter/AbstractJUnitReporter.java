@@ -18,10 +18,11 @@
  */
 package org.jbehavesupport.engine.reporter;
 
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.buildStoryText;
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.removeClass;
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.jbehavesupport.core.TextFormatter.removeClass;
 
 import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.reporter.LoggingReporter;
 import org.junit.runner.Description;
 
 public class AbstractJUnitReporter extends LoggingReporter {
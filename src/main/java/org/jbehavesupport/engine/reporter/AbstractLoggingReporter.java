@@ -18,11 +18,16 @@
  */
 package org.jbehavesupport.engine.reporter;
 
+import org.jbehavesupport.core.reporter.AbstractTreeReporter;
 import org.junit.platform.engine.TestDescriptor;
 
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.buildStoryText;
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.removeClass;
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.jbehavesupport.core.TextFormatter.removeClass;
 
+/**
+ * @deprecated the engine reporters extend {@link AbstractTreeReporter}, which is shared by the runner and the engine
+ */
+@Deprecated
 public class AbstractLoggingReporter extends LoggingReporter {
     protected static final String BEFORE_STORIES = "BeforeStories";
     protected static final String AFTER_STORIES = "AfterStories";
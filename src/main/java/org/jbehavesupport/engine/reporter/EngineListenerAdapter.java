@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.reporter;
+
+import lombok.RequiredArgsConstructor;
+import org.jbehave.core.failures.PendingStepFound;
+import org.jbehavesupport.core.reporter.ExecutionListener;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/**
+ * Reports the execution events to the JUnit 5 {@link EngineExecutionListener}. Pending steps are reported as failed.
+ */
+@RequiredArgsConstructor
+public class EngineListenerAdapter implements ExecutionListener<TestDescriptor> {
+
+    private final EngineExecutionListener engineExecutionListener;
+
+    @Override
+    public void started(TestDescriptor node) {
+        engineExecutionListener.executionStarted(node);
+    }
+
+    @Override
+    public void finished(TestDescriptor node) {
+        engineExecutionListener.executionFinished(node, TestExecutionResult.successful());
+    }
+
+    @Override
+    public void failed(TestDescriptor node, Throwable cause) {
+        engineExecutionListener.executionFinished(node, TestExecutionResult.failed(cause));
+    }
+
+    @Override
+    public void skipped(TestDescriptor node, String reason) {
+        engineExecutionListener.executionSkipped(node, reason);
+    }
+
+    @Override
+    public void pending(TestDescriptor node, String step) {
+        engineExecutionListener.executionFinished(node, TestExecutionResult.failed(new PendingStepFound(step)));
+    }
+
+    @Override
+    public void finished(TestDescriptor node, Throwable failure) {
+        engineExecutionListener.executionFinished(node,
+            failure == null ? TestExecutionResult.successful() : TestExecutionResult.failed(failure));
+    }
+}
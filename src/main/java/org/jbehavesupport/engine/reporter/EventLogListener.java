@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.jbehavesupport.engine.reporter;
+
+import lombok.SneakyThrows;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Decorates {@link EngineExecutionListener} and streams every execution event as one JSON line
+ * (<a href="http://ndjson.org">NDJSON</a>) into a file. Only start times of running descriptors are kept,
+ * so memory does not grow with the size of the suite.
+ */
+public class EventLogListener implements EngineExecutionListener, AutoCloseable {
+
+    public static final String EVENT_LOG_PROPERTY = "jbehave.report.event.log";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EngineExecutionListener delegate;
+    private final Writer writer;
+    private final Map<UniqueId, Long> startTimes = new ConcurrentHashMap<>();
+
+    public EventLogListener(EngineExecutionListener delegate, Path path) {
+        this.delegate = delegate;
+        this.writer = openWriter(path);
+    }
+
+    @SneakyThrows(IOException.class)
+    private static Writer openWriter(Path path) {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+        return Channels.newWriter(channel, UTF_8.newEncoder(), BUFFER_SIZE);
+    }
+
+    @Override
+    public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+        delegate.dynamicTestRegistered(testDescriptor);
+    }
+
+    @Override
+    public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+        write(testDescriptor.getUniqueId(), testDescriptor, "skipped", "SKIPPED", null);
+        delegate.executionSkipped(testDescriptor, reason);
+    }
+
+    @Override
+    public void executionStarted(TestDescriptor testDescriptor) {
+        UniqueId uniqueId = testDescriptor.getUniqueId();
+        startTimes.put(uniqueId, System.nanoTime());
+        write(uniqueId, testDescriptor, "started", null, null);
+        delegate.executionStarted(testDescriptor);
+    }
+
+    @Override
+    public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+        UniqueId uniqueId = testDescriptor.getUniqueId();
+        Long start = startTimes.remove(uniqueId);
+        Long duration = start == null ? null : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        write(uniqueId, testDescriptor, "finished", testExecutionResult.getStatus().name(), duration);
+        delegate.executionFinished(testDescriptor, testExecutionResult);
+    }
+
+    @Override
+    public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+        delegate.reportingEntryPublished(testDescriptor, entry);
+    }
+
+    @Override
+    public void close() {
+        synchronized (writer) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void write(UniqueId uniqueId, TestDescriptor testDescriptor, String event, String status, Long duration) {
+        StringBuilder line = new StringBuilder(256)
+            .append("{\"event\":\"").append(event).append('"')
+            .append(",\"id\":");
+        appendString(line, uniqueId.toString());
+        line.append(",\"type\":\"").append(uniqueId.getLastSegment().getType()).append('"')
+            .append(",\"name\":");
+        appendString(line, testDescriptor.getDisplayName());
+        if (status != null) {
+            line.append(",\"status\":\"").append(status).append('"');
+        }
+        if (duration != null) {
+            line.append(",\"duration\":").append(duration.longValue());
+        }
+        line.append(",\"thread\":");
+        appendString(line, Thread.currentThread().getName());
+        line.append(",\"timestamp\":").append(System.currentTimeMillis()).append("}\n");
+        synchronized (writer) {
+            try {
+                writer.write(line.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void appendString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+
+}
@@ -20,7 +20,7 @@
 package org.jbehavesupport.engine.reporter;
 
 public enum ReportLevel {
-    STEP, STORY;
+    STEP, SCENARIO, STORY;
 
     public static final String REPORT_LEVEL_PROPERTY = "jbehave.report.level";
 }
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.reporter;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehavesupport.core.reporter.ScenarioLevelReporter;
+import org.jbehavesupport.engine.descriptor.DescriptorTree;
+import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+
+public class ScenarioLoggingReporter extends ScenarioLevelReporter<TestDescriptor> {
+
+    public ScenarioLoggingReporter(EngineExecutionListener engineExecutionListener, JBehaveTestDescriptor rootDescriptor,
+                                   Configuration configuration) {
+        this(engineExecutionListener, new DescriptorTree(), rootDescriptor, configuration);
+    }
+
+    public ScenarioLoggingReporter(EngineExecutionListener engineExecutionListener, DescriptorTree tree, TestDescriptor rootDescriptor,
+                                   Configuration configuration) {
+        super(tree, new EngineListenerAdapter(engineExecutionListener), rootDescriptor, configuration);
+    }
+}
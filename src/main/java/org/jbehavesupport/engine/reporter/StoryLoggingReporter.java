@@ -19,69 +19,21 @@
 package org.jbehavesupport.engine.reporter;
 
 import org.jbehave.core.configuration.Configuration;
-import org.jbehave.core.failures.PendingStepFound;
-import org.jbehave.core.failures.UUIDExceptionWrapper;
-import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.reporter.StoryLevelReporter;
+import org.jbehavesupport.engine.descriptor.DescriptorTree;
 import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.TestDescriptor;
-import org.junit.platform.engine.TestExecutionResult;
 
-import static java.util.Objects.nonNull;
+public class StoryLoggingReporter extends StoryLevelReporter<TestDescriptor> {
 
-public class StoryLoggingReporter extends AbstractLoggingReporter {
-
-    private final EngineExecutionListener engineExecutionListener;
-    private final JBehaveTestDescriptor rootDescriptor;
-    private final Configuration configuration;
-
-    private TestDescriptor currentStoryDescriptor;
-
-    public StoryLoggingReporter(EngineExecutionListener engineExecutionListener, JBehaveTestDescriptor rootDescriptor, Configuration configuration) {
-        this.engineExecutionListener = engineExecutionListener;
-        this.rootDescriptor = rootDescriptor;
-        this.configuration = configuration;
-    }
-
-    @Override
-    public void beforeStory(Story story, boolean givenStory) {
-        if (givenStory) {
-            this.givenStories++;
-        } else {
-            for (TestDescriptor descriptor : rootDescriptor.getChildren()) {
-                if (descriptor.isTest()
-                    && containerIsEligibleAs(descriptor, story.getName())) {
-                    currentStoryDescriptor = descriptor;
-                    engineExecutionListener.executionStarted(currentStoryDescriptor);
-                }
-            }
-        }
-        super.beforeStory(story, givenStory);
-    }
-
-    @Override
-    public void afterStory(boolean givenOrRestartingStory) {
-        super.afterStory(givenOrRestartingStory);
-        if (isAGivenStory()) {
-            this.givenStories--;
-        } else if (nonNull(currentStoryDescriptor)) {
-            engineExecutionListener.executionFinished(currentStoryDescriptor, TestExecutionResult.successful());
-            currentStoryDescriptor = null;
-        }
-    }
-
-    @Override
-    public void failed(String step, Throwable cause) {
-        if (cause instanceof UUIDExceptionWrapper) {
-            cause = cause.getCause();
-        }
-        super.failed(step, cause);
-        engineExecutionListener.executionFinished(currentStoryDescriptor, TestExecutionResult.failed(cause));
+    public StoryLoggingReporter(EngineExecutionListener engineExecutionListener, JBehaveTestDescriptor rootDescriptor,
+                                Configuration configuration) {
+        this(engineExecutionListener, new DescriptorTree(), rootDescriptor, configuration);
     }
 
-    @Override
-    public void pending(String step) {
-        super.pending(step);
-        engineExecutionListener.executionFinished(currentStoryDescriptor, TestExecutionResult.failed(new PendingStepFound(step)));
+    public StoryLoggingReporter(EngineExecutionListener engineExecutionListener, DescriptorTree tree, TestDescriptor rootDescriptor,
+                                Configuration configuration) {
+        super(tree, new EngineListenerAdapter(engineExecutionListener), rootDescriptor, configuration);
     }
 }
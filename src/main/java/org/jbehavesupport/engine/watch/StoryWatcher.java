@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.watch;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.jbehave.core.ConfigurableEmbedder;
+import org.jbehavesupport.engine.JBehaveTestEngine;
+import org.jbehavesupport.engine.JUnit5Stories;
+import org.jbehavesupport.engine.discovery.JBehaveDiscoverer;
+import org.jbehavesupport.engine.discovery.JBehaveSelectorResolver;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Long living run of story classes which re-runs the stories whose files changed. The instances of the classes,
+ * their embedders and steps are created once and kept for all runs, every run discovers only the changed stories
+ * and executes them by {@link JBehaveTestEngine}.
+ * <p>
+ * The story paths are the paths of the changed files relative to the watched directory, so the watched directories
+ * are the roots the stories are loaded from, e.g. the classpath directories updated by the IDE.
+ */
+@Slf4j
+public class StoryWatcher implements AutoCloseable {
+
+    public static final String WATCH_DIRECTORIES_PROPERTY = "jbehave.watch.directories";
+
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final JBehaveTestEngine engine = new JBehaveTestEngine();
+    private final List<DiscoverySelector> selectors;
+    private final ConfigurationParameters configurationParameters;
+    private final EngineExecutionListener listener;
+    private final Map<Class<? extends ConfigurableEmbedder>, ConfigurableEmbedder> instances = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Map<WatchKey, Path> roots = new HashMap<>();
+    private WatchService watchService;
+
+    /**
+     * @param configurationParameters parameters of the engine, the missing ones are taken from the system properties
+     */
+    public StoryWatcher(List<Class<? extends JUnit5Stories>> storyClasses, Map<String, String> configurationParameters,
+                        EngineExecutionListener listener) {
+        this.selectors = storyClasses.stream()
+            .map(DiscoverySelectors::selectClass)
+            .collect(Collectors.toList());
+        this.configurationParameters = new WatchConfigurationParameters(configurationParameters);
+        this.listener = listener;
+    }
+
+    /**
+     * Runs the given story classes and re-runs their changed stories until the thread is interrupted or the watcher
+     * is closed. Arguments are the names of the story classes, the watched directories are given by the system property
+     * {@value #WATCH_DIRECTORIES_PROPERTY} separated by commas, by default the directories of the classpath are watched.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        List<Class<? extends JUnit5Stories>> storyClasses = Arrays.stream(args)
+            .map(StoryWatcher::storyClass)
+            .collect(Collectors.toList());
+        List<Path> watchedDirectories = Optional.ofNullable(System.getProperty(WATCH_DIRECTORIES_PROPERTY))
+            .map(value -> Arrays.stream(value.split(",")).map(String::trim).map(Paths::get).collect(Collectors.toList()))
+            .orElseGet(StoryWatcher::classpathDirectories);
+        try (StoryWatcher storyWatcher = new StoryWatcher(storyClasses, Collections.emptyMap(), new SummaryListener())) {
+            storyWatcher.watch(watchedDirectories);
+        }
+    }
+
+    @SneakyThrows(ClassNotFoundException.class)
+    private static Class<? extends JUnit5Stories> storyClass(String className) {
+        return Class.forName(className).asSubclass(JUnit5Stories.class);
+    }
+
+    private static List<Path> classpathDirectories() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+            .map(Paths::get)
+            .filter(Files::isDirectory)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Runs all stories and then the changed stories after every change in the directories.
+     */
+    public void watch(List<Path> watchedDirectories) throws InterruptedException {
+        register(watchedDirectories);
+        runAll();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<String> storyPaths = awaitChanges();
+                log.info("Changed files: {}", storyPaths);
+                run(storyPaths);
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Watching of stories closed");
+        }
+    }
+
+    public void runAll() {
+        run(storyPath -> true);
+    }
+
+    public void run(Collection<String> storyPaths) {
+        if (!storyPaths.isEmpty()) {
+            run(storyPaths::contains);
+        }
+    }
+
+    private void run(Predicate<String> storyPathFilter) {
+        UniqueId engineId = UniqueId.forEngine(engine.getId());
+        TestDescriptor engineDescriptor = new JBehaveDiscoverer(this::instance, storyPathFilter)
+            .discover(new WatchDiscoveryRequest(), engineId);
+        if (engineDescriptor.getChildren().isEmpty()) {
+            log.debug("No story to run");
+            return;
+        }
+        engine.execute(new ExecutionRequest(engineDescriptor, listener, configurationParameters));
+    }
+
+    private ConfigurableEmbedder instance(Class<? extends ConfigurableEmbedder> storyClass) {
+        return instances.computeIfAbsent(storyClass, JBehaveSelectorResolver::instantiate);
+    }
+
+    /**
+     * Starts watching of the directories and all their subdirectories.
+     */
+    @SneakyThrows(IOException.class)
+    public void register(List<Path> watchedDirectories) {
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : watchedDirectories) {
+            registerTree(directory.toAbsolutePath(), directory.toAbsolutePath());
+        }
+    }
+
+    @SneakyThrows(IOException.class)
+    private void registerTree(Path root, Path directory) {
+        List<Path> subdirectories;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            subdirectories = paths.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        for (Path subdirectory : subdirectories) {
+            WatchKey key = subdirectory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            directories.put(key, subdirectory);
+            roots.put(key, root);
+        }
+    }
+
+    /**
+     * Waits for a change in the watched directories and collects the changes until the directories are quiet
+     * for a moment, editors often write one file more times.
+     *
+     * @return paths of the changed files relative to their watched directory
+     */
+    public Set<String> awaitChanges() throws InterruptedException {
+        Set<String> storyPaths = new LinkedHashSet<>();
+        WatchKey key = watchService.take();
+        while (key != null) {
+            collectChanges(key, storyPaths);
+            key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return storyPaths;
+    }
+
+    private void collectChanges(WatchKey key, Set<String> storyPaths) {
+        Path directory = directories.get(key);
+        Path root = roots.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                log.warn("Some changes in {} were lost", directory);
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+                if (event.kind() == ENTRY_CREATE) {
+                    registerTree(root, path);
+                }
+            } else {
+                storyPaths.add(root.relativize(path).toString().replace(File.separatorChar, '/'));
+            }
+        }
+        key.reset();
+    }
+
+    @Override
+    @SneakyThrows(IOException.class)
+    public void close() {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private class WatchDiscoveryRequest implements EngineDiscoveryRequest {
+
+        @Override
+        public <T extends DiscoverySelector> List<T> getSelectorsByType(Class<T> selectorType) {
+            return selectors.stream()
+                .filter(selectorType::isInstance)
+                .map(selectorType::cast)
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public <T extends DiscoveryFilter<?>> List<T> getFiltersByType(Class<T> filterType) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public ConfigurationParameters getConfigurationParameters() {
+            return configurationParameters;
+        }
+    }
+
+    private static class WatchConfigurationParameters implements ConfigurationParameters {
+
+        private final Map<String, String> parameters;
+
+        WatchConfigurationParameters(Map<String, String> parameters) {
+            this.parameters = new HashMap<>(parameters);
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.ofNullable(parameters.getOrDefault(key, System.getProperty(key)));
+        }
+
+        @Override
+        public Optional<Boolean> getBoolean(String key) {
+            return get(key).map(Boolean::parseBoolean);
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public int size() {
+            return parameters.size();
+        }
+    }
+
+    /**
+     * Logs the failed tests and the numbers of tests of every run.
+     */
+    private static class SummaryListener implements EngineExecutionListener {
+
+        private final AtomicInteger successful = new AtomicInteger();
+        private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+            if (testDescriptor.isRoot()) {
+                log.info("Stories run: {} tests successful, {} failed {}", successful.getAndSet(0), failed.size(), failed);
+                failed.clear();
+            } else if (testDescriptor.isTest()) {
+                if (testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL) {
+                    successful.incrementAndGet();
+                } else {
+                    failed.add(testDescriptor.getDisplayName());
+                }
+            }
+        }
+    }
+}
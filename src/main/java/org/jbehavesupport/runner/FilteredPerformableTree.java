@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.MemoizingPerformableTree;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+/**
+ * Performable tree which loads only the selected scenarios of stories, stories without selection are loaded whole.
+ */
+class FilteredPerformableTree extends MemoizingPerformableTree {
+
+    private final Map<String, SortedSet<Integer>> selectedScenarios;
+
+    FilteredPerformableTree(Map<String, SortedSet<Integer>> selectedScenarios) {
+        this.selectedScenarios = selectedScenarios;
+    }
+
+    @Override
+    public Story storyOfPath(Configuration configuration, String storyPath) {
+        Story story = super.storyOfPath(configuration, storyPath);
+        SortedSet<Integer> selected = selectedScenarios.get(storyPath);
+        if (selected == null) {
+            return story;
+        }
+        List<Scenario> scenarios = story.getScenarios();
+        return story.cloneWithScenarios(selected.stream()
+            .map(scenarios::get)
+            .collect(Collectors.toList()));
+    }
+}
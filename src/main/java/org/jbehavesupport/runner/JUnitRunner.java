@@ -22,30 +22,46 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.jbehave.core.ConfigurableEmbedder;
 import org.jbehave.core.configuration.Configuration;
-import org.jbehave.core.embedder.AllStepCandidates;
 import org.jbehave.core.embedder.Embedder;
 import org.jbehave.core.embedder.PerformableTree;
-import org.jbehave.core.failures.BatchFailures;
-import org.jbehave.core.junit.JUnitStory;
-import org.jbehave.core.model.Story;
 import org.jbehave.core.reporters.StoryReporter;
 import org.jbehave.core.steps.CandidateSteps;
-import org.jbehave.core.steps.NullStepMonitor;
+import org.jbehavesupport.core.EmbedderSupport;
+import org.jbehavesupport.core.StepCandidateIndex;
+import org.jbehavesupport.core.StoryExecutors;
+import org.jbehavesupport.core.reporter.LoggingLevel;
+import org.jbehavesupport.core.reporter.LoggingReporter;
+import org.jbehavesupport.core.reporter.ThreadLocalReporter;
 import org.jbehavesupport.runner.description.StoryParser;
 import org.jbehavesupport.runner.description.StoryResult;
+import org.jbehavesupport.runner.reporter.JUnitScenarioReporter;
 import org.jbehavesupport.runner.reporter.JUnitStepReporter;
 import org.jbehavesupport.runner.reporter.JUnitStoryReporter;
 import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.InvalidOrderingException;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Orderer;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
 import org.junit.runners.model.Statement;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * @author Michal Bocek
@@ -54,16 +70,26 @@ import java.util.List;
 @Slf4j
 public class JUnitRunner extends BlockJUnit4ClassRunner {
 
+    public static final String THREADS_PROPERTY = "jbehave.runner.threads";
+
     @Getter
-    private final Description description;
+    private Description description;
 
-    private final List<String> storyPaths;
+    private List<String> storyPaths;
+    private final Map<Description, String> storyPathsByDescription = new HashMap<>();
+    private final Map<Description, Integer> scenarioIndexes = new IdentityHashMap<>();
+    private final Map<String, SortedSet<Integer>> selectedScenarios = new HashMap<>();
+    private boolean ordered;
     private final List<CandidateSteps> candidateSteps;
     private final Embedder configuredEmbedder;
     private final String reportLevel;
+    private final String loggingLevel;
+    private final boolean asyncLogging;
+    private final boolean virtualThreads;
+    private RunnerScheduler scheduler;
 
     public enum ReportLevel {
-        STEP, STORY
+        STEP, SCENARIO, STORY
     }
 
     public JUnitRunner(Class<? extends ConfigurableEmbedder> testClass)
@@ -72,38 +98,88 @@ public class JUnitRunner extends BlockJUnit4ClassRunner {
 
         super(testClass);
         reportLevel = System.getProperty("jbehave.report.level", ReportLevel.STEP.name());
+        loggingLevel = System.getProperty(LoggingLevel.LOGGING_LEVEL_PROPERTY, LoggingLevel.STEP.name());
+        asyncLogging = Boolean.getBoolean(LoggingLevel.LOGGING_ASYNC_PROPERTY);
+        virtualThreads = Boolean.getBoolean(StoryExecutors.VIRTUAL_THREADS_PROPERTY) && StoryExecutors.supportsVirtualThreads();
         ConfigurableEmbedder configurableEmbedder = testClass.newInstance();
         configuredEmbedder = configurableEmbedder.configuredEmbedder();
-        setupNullStepMonitor(configuredEmbedder);
-        storyPaths = getStoryPaths(configurableEmbedder);
-        candidateSteps = configuredEmbedder.stepsFactory().createCandidateSteps();
+        EmbedderSupport.setupNullStepMonitor(configuredEmbedder);
+        storyPaths = EmbedderSupport.getStoryPaths(configurableEmbedder);
+        candidateSteps = StepCandidateIndex.candidateSteps(configuredEmbedder);
         description = buildStoryDescription(testClass, configuredEmbedder.configuration());
     }
 
+    /**
+     * Stories of the class are run in parallel on the given scheduler.
+     */
+    @Override
+    public void setScheduler(RunnerScheduler scheduler) {
+        super.setScheduler(scheduler);
+        this.scheduler = scheduler;
+    }
+
     @Override
     protected Statement childrenInvoker(final RunNotifier notifier) {
         return new Statement() {
             @Override
             public void evaluate() throws Throwable {
-                StoryReporter junitReporter = resolveReporter(reportLevel);
+                int threads = Integer.getInteger(THREADS_PROPERTY, configuredEmbedder.embedderControls().threads());
+                Optional<ExecutorService> virtualThreadExecutor = scheduler == null && virtualThreads
+                    ? StoryExecutors.virtualThreadExecutor()
+                    : Optional.empty();
+                ExecutorService storyExecutor = null;
+                StoryReporter junitReporter;
+                boolean parallelStories = scheduler != null || virtualThreadExecutor.isPresent() || threads > 1;
+                if (parallelStories) {
+                    junitReporter = new ThreadLocalReporter(this::createReporter);
+                    if (scheduler != null) {
+                        storyExecutor = new RunnerSchedulerExecutorService(scheduler);
+                        configuredEmbedder.useExecutorService(storyExecutor);
+                    } else if (virtualThreadExecutor.isPresent()) {
+                        storyExecutor = virtualThreadExecutor.get();
+                        configuredEmbedder.useExecutorService(storyExecutor);
+                    } else {
+                        configuredEmbedder.embedderControls().useThreads(threads);
+                    }
+                } else {
+                    junitReporter = createReporter();
+                }
 
                 configuredEmbedder.configuration()
                     .storyReporterBuilder()
                     .withReporters(junitReporter);
+                configuredEmbedder.usePerformableTree(new FilteredPerformableTree(selectedScenarios).withParallelStories(parallelStories));
+                if (ordered) {
+                    // jbehave sorts stories by path unless told otherwise
+                    List<String> executionOrder = new ArrayList<>(storyPaths);
+                    configuredEmbedder.configuration()
+                        .useStoryExecutionComparator(Comparator.comparingInt(story -> executionOrder.indexOf(story.getPath())));
+                }
 
                 try {
                     configuredEmbedder.runStoriesAsPaths(storyPaths);
                 } catch (Throwable e) {
                     throw new RuntimeException(e);
                 } finally {
+                    if (storyExecutor != null) {
+                        storyExecutor.shutdown();
+                    }
                     configuredEmbedder.generateSurefireReport();
                 }
             }
 
-            private StoryReporter resolveReporter(String reportLevel) {
+            private LoggingReporter createReporter() {
+                return resolveReporter(reportLevel)
+                    .useLoggingLevel(LoggingLevel.valueOf(loggingLevel))
+                    .doAsyncLogging(asyncLogging);
+            }
+
+            private LoggingReporter resolveReporter(String reportLevel) {
                 switch (ReportLevel.valueOf(reportLevel)) {
                     case STEP:
                         return new JUnitStepReporter(notifier, description, configuredEmbedder.configuration());
+                    case SCENARIO:
+                        return new JUnitScenarioReporter(notifier, description, configuredEmbedder.configuration());
                     case STORY:
                         return new JUnitStoryReporter(notifier, description, configuredEmbedder.configuration());
                     default:
@@ -113,6 +189,90 @@ public class JUnitRunner extends BlockJUnit4ClassRunner {
         };
     }
 
+    /**
+     * Keeps only stories and scenarios matching the filter, the other ones are not executed at all.
+     * BeforeStories and AfterStories are kept as they are always performed.
+     */
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        List<Description> children = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        for (Description child : description.getChildren()) {
+            String storyPath = storyPathsByDescription.get(child);
+            if (storyPath == null) {
+                children.add(child);
+            } else if (filter.shouldRun(child)) {
+                paths.add(storyPath);
+                children.add(filterScenarios(filter, child, storyPath));
+            }
+        }
+        if (paths.isEmpty()) {
+            throw new NoTestsRemainException();
+        }
+        storyPaths = paths;
+        description = copyOf(description, children);
+    }
+
+    private Description filterScenarios(Filter filter, Description storyDescription, String storyPath) {
+        List<Description> children = new ArrayList<>();
+        SortedSet<Integer> selected = new TreeSet<>();
+        boolean pruned = false;
+        for (Description child : storyDescription.getChildren()) {
+            Integer index = scenarioIndexes.get(child);
+            if (index == null) {
+                children.add(child);
+            } else if (filter.shouldRun(child)) {
+                children.add(child);
+                selected.add(index);
+            } else {
+                pruned = true;
+            }
+        }
+        if (!pruned) {
+            return storyDescription;
+        }
+        selectedScenarios.put(storyPath, selected);
+        return copyOf(storyDescription, children);
+    }
+
+    @Override
+    public void sort(Sorter sorter) {
+        List<Description> stories = getStoryDescriptions();
+        stories.sort(sorter);
+        applyOrder(stories);
+    }
+
+    @Override
+    public void order(Orderer orderer) throws InvalidOrderingException {
+        applyOrder(orderer.order(getStoryDescriptions()));
+    }
+
+    private List<Description> getStoryDescriptions() {
+        return description.getChildren()
+            .stream()
+            .filter(storyPathsByDescription::containsKey)
+            .collect(Collectors.toList());
+    }
+
+    private void applyOrder(List<Description> orderedStories) {
+        Iterator<Description> stories = orderedStories.iterator();
+        List<Description> children = new ArrayList<>();
+        for (Description child : description.getChildren()) {
+            children.add(storyPathsByDescription.containsKey(child) ? stories.next() : child);
+        }
+        storyPaths = orderedStories.stream()
+            .map(storyPathsByDescription::get)
+            .collect(Collectors.toList());
+        description = copyOf(description, children);
+        ordered = true;
+    }
+
+    private static Description copyOf(Description description, List<Description> children) {
+        Description copy = description.childlessCopy();
+        children.forEach(copy::addChild);
+        return copy;
+    }
+
     private Description buildStoryDescription(Class<? extends ConfigurableEmbedder> testClass,
                                               Configuration configuration) {
         Description description = Description.createSuiteDescription(testClass);
@@ -127,77 +287,15 @@ public class JUnitRunner extends BlockJUnit4ClassRunner {
     }
 
     private void addStories(List<Description> descriptions, Configuration configuration) {
-        StoryResult storyResult = StoryParser.parse(createPerformableTree(), ReportLevel.valueOf(reportLevel))
+        PerformableTree performableTree = EmbedderSupport.createPerformableTree(configuredEmbedder, storyPaths);
+        StoryResult storyResult = StoryParser.parse(performableTree, ReportLevel.valueOf(reportLevel))
             .withCandidateSteps(candidateSteps)
             .withKeywords(configuration.keywords())
             .buildDescription();
 
         descriptions.addAll(storyResult.getStoryDescriptions());
-    }
-
-    private PerformableTree createPerformableTree() {
-        BatchFailures failures = new BatchFailures(configuredEmbedder.embedderControls().verboseFailures());
-        PerformableTree performableTree = new PerformableTree();
-        PerformableTree.RunContext context = performableTree.newRunContext(configuredEmbedder.configuration(),
-            new AllStepCandidates(configuredEmbedder.stepsFactory().createCandidateSteps()),
-            configuredEmbedder.embedderMonitor(),
-            configuredEmbedder.metaFilter(), failures);
-
-        List<Story> stories = new ArrayList<>();
-        for (String storyPath : storyPaths) {
-            stories.add(performableTree.storyOfPath(configuredEmbedder.configuration(), storyPath));
-        }
-        performableTree.addStories(context, stories);
-
-        return performableTree;
-    }
-
-    private void setupNullStepMonitor(Embedder embedder) {
-        NullStepMonitor stepMonitor = new NullStepMonitor();
-        embedder.configuration().useStepMonitor(stepMonitor);
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<String> getStoryPaths(ConfigurableEmbedder configurableEmbedder)
-        throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
-
-        List<String> stories;
-        if (configurableEmbedder instanceof JUnitStory) {
-            Configuration configuration = configurableEmbedder.configuredEmbedder().configuration();
-            String story = configuration.storyPathResolver().resolve(configurableEmbedder.getClass());
-            stories = Collections.singletonList(story);
-        } else {
-            Method method = lookupStoryPathsMethod(configurableEmbedder.getClass());
-            method.setAccessible(true);
-            stories = ((List<String>) method.invoke(configurableEmbedder, (Object[]) null));
-        }
-
-        return stories;
-    }
-
-    private Method lookupStoryPathsMethod(Class<? extends ConfigurableEmbedder> testClass)
-        throws NoSuchMethodException {
-
-        Method method;
-        try {
-            method = storyPathsLookup(testClass);
-        } catch (NoSuchMethodException e) {
-            method = testClass.getMethod("storyPaths", (Class[]) null);
-        }
-        return method;
-    }
-
-    private Method storyPathsLookup(Class<?> clazz) throws NoSuchMethodException {
-        while (clazz != null) {
-            Method[] methods = clazz.getDeclaredMethods();
-            for (Method method : methods) {
-                // Test any other things about it beyond the name...
-                if (method.getName().equals("storyPaths")) {
-                    return method;
-                }
-            }
-            clazz = clazz.getSuperclass();
-        }
-        throw new NoSuchMethodException("Can not find method: " + "storyPaths");
+        // given stories and BeforeStories/AfterStories are built from no story or scenario, so they are not mapped
+        storyPathsByDescription.putAll(storyResult.getStoryPaths());
+        scenarioIndexes.putAll(storyResult.getScenarioIndexes());
     }
 }
@@ -19,69 +19,39 @@
 package org.jbehavesupport.runner;
 
 import org.jbehave.core.configuration.Keywords;
+import org.jbehavesupport.core.TextFormatter;
 
 /**
- * @author Michal Bocek
- * @since 29/08/16
+ * @deprecated moved to {@link TextFormatter}, which is shared by the runner and the engine
  */
+@Deprecated
 public class JUnitRunnerFormatter {
 
-    private static final String FORMAT_SIMPLE = "%s %s";
-    private static final String FORMAT_SEMICOLON = "%s: %s";
-    private static final String STORY = "Story";
-
     private JUnitRunnerFormatter() {
         throw new UnsupportedOperationException();
     }
 
     public static String buildStoryText(String text) {
-        return formatWithSemicolon(STORY, normalizeStoryName(text));
+        return TextFormatter.buildStoryText(text);
     }
 
     public static String buildScenarioText(Keywords keywords, String text) {
-        return formatWithoutSemicolon(keywords.scenario(), cleanup(text));
+        return TextFormatter.buildScenarioText(keywords, text);
     }
 
     public static String buildExampleText(Keywords keywords, String text) {
-        return formatWithoutSemicolon(keywords.examplesTableRow(), cleanup(text));
+        return TextFormatter.buildExampleText(keywords, text);
     }
 
     public static String normalizeStoryName(String storyName) {
-        String result;
-        if (storyName.contains(".")) {
-            result = storyName.substring(0, storyName.indexOf("."));
-        } else {
-            result = storyName;
-        }
-        return cleanup(result);
+        return TextFormatter.normalizeStoryName(storyName);
     }
 
     public static String normalizeStep(String step) {
-        return cleanup(firstLine(step));
+        return TextFormatter.normalizeStep(step);
     }
 
     public static String removeClass(String text) {
-        return text.replaceAll("\\(.*\\)", "");
-    }
-
-    private static String firstLine(String text) {
-        int newLineIndex = text.indexOf("\n");
-        return text.substring(0, newLineIndex == -1 ? text.length() : newLineIndex - 1);
-    }
-
-    private static String formatWithoutSemicolon(String prefix, String text) {
-        return String.format(FORMAT_SIMPLE, prefix, stripDots(text));
-    }
-
-    private static String formatWithSemicolon(String prefix, String text) {
-        return String.format(FORMAT_SEMICOLON, prefix, stripDots(text));
-    }
-
-    private static String stripDots(String text) {
-        return text.replaceAll("\\.", "");
-    }
-
-    private static String cleanup(String text) {
-        return text.replaceAll("[\r\n]+", ", ").replaceAll("[()]", "|");
+        return TextFormatter.removeClass(text);
     }
 }
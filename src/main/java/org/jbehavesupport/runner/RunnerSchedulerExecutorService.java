@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner;
+
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adapts {@link RunnerScheduler} set on the runner (e.g. by Maven Surefire or {@code ParallelComputer})
+ * to the {@link java.util.concurrent.ExecutorService} used by the embedder to run stories.
+ */
+class RunnerSchedulerExecutorService extends AbstractExecutorService {
+
+    private final RunnerScheduler scheduler;
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    RunnerSchedulerExecutorService(RunnerScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        scheduler.schedule(command);
+    }
+
+    /**
+     * Waits for all scheduled stories, as {@link RunnerScheduler#finished()} does.
+     */
+    @Override
+    public void shutdown() {
+        if (shutdown.compareAndSet(false, true)) {
+            scheduler.finished();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return shutdown.get();
+    }
+}
@@ -16,7 +16,6 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.jbehavesupport.runner.description;
 
 import java.util.ArrayList;
@@ -28,17 +27,19 @@ import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.embedder.PerformableTree;
 import org.jbehave.core.steps.CandidateSteps;
 import org.jbehave.core.steps.StepCandidate;
+import org.jbehavesupport.core.tree.AbstractTreeBuilder;
 import org.junit.runner.Description;
 
 /**
- * @author Michal Bocek
- * @since 4/23/2017
+ * @deprecated the runner builds its descriptions by the tree builders of {@link AbstractTreeBuilder}, which are shared
+ * by the runner and the engine
  */
+@Deprecated
 @RequiredArgsConstructor
 public abstract class AbstractDescriptionBuilder implements DescriptionBuilder {
 
-    public static final String STORIES_BEFORE = "BeforeStories";
-    public static final String STORIES_AFTER= "AfterStories";
+    public static final String STORIES_BEFORE = AbstractTreeBuilder.STORIES_BEFORE;
+    public static final String STORIES_AFTER = AbstractTreeBuilder.STORIES_AFTER;
 
     @Getter
     private final List<StepCandidate> stepCandidates = new ArrayList<>();
@@ -65,4 +66,3 @@ public abstract class AbstractDescriptionBuilder implements DescriptionBuilder {
 
     protected abstract Description createStoryDescription(PerformableTree.PerformableStory performableStory);
 }
-
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner.description;
+
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.junit.runner.Description.createSuiteDescription;
+import static org.junit.runner.Description.createTestDescription;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import org.jbehave.core.model.GivenStory;
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.tree.TestTreeFactory;
+import org.junit.runner.Description;
+
+/**
+ * Creates JUnit 4 descriptions, tests are described by the class of the model element or step.
+ * Descriptions may be equal to each other, so the stories and scenarios they were built from are kept by identity.
+ */
+@Getter
+public class DescriptionFactory implements TestTreeFactory<Description> {
+
+    private final Map<Description, String> storyPaths = new IdentityHashMap<>();
+    private final Map<Description, Integer> scenarioIndexes = new IdentityHashMap<>();
+
+    @Override
+    public Description createStoriesSteps(String name) {
+        return createTestDescription(Story.class, name);
+    }
+
+    @Override
+    public Description createStory(String name) {
+        return createSuiteDescription(name);
+    }
+
+    @Override
+    public Description createStoryTest(String name) {
+        return createTestDescription(Story.class, buildStoryText(name));
+    }
+
+    @Override
+    public Description createGivenStory(String name) {
+        return createTestDescription(GivenStory.class, name);
+    }
+
+    @Override
+    public Description createScenario(String name, boolean container) {
+        return container ? createSuiteDescription(name) : createTestDescription(Scenario.class, name);
+    }
+
+    @Override
+    public Description createExample(String name, boolean container) {
+        return container ? createSuiteDescription(name) : createTestDescription(Scenario.class, name);
+    }
+
+    @Override
+    public Description createCompositeStep(String name) {
+        return createSuiteDescription(name);
+    }
+
+    @Override
+    public Description createStep(String name, Class<?> stepsType) {
+        return createTestDescription(stepsType != null ? stepsType : UnknownStep.class, name);
+    }
+
+    @Override
+    public void addStoryPath(Description node, String storyPath) {
+        storyPaths.put(node, storyPath);
+    }
+
+    @Override
+    public void addScenarioIndex(Description node, int scenarioIndex) {
+        scenarioIndexes.put(node, scenarioIndex);
+    }
+
+    @Override
+    public void addChild(Description parent, Description child) {
+        parent.addChild(child);
+    }
+}
@@ -19,6 +19,9 @@
 package org.jbehavesupport.runner.description;
 
 import org.jbehave.core.embedder.PerformableTree;
+import org.jbehavesupport.core.tree.ScenarioLevelTreeBuilder;
+import org.jbehavesupport.core.tree.StepLevelTreeBuilder;
+import org.jbehavesupport.core.tree.StoryLevelTreeBuilder;
 import org.jbehavesupport.runner.JUnitRunner;
 
 /**
@@ -27,12 +30,14 @@ import org.jbehavesupport.runner.JUnitRunner;
  */
 public class StoryParser {
 
-    public static AbstractDescriptionBuilder parse(final PerformableTree story, final JUnitRunner.ReportLevel reportLevel) {
+    public static DescriptionBuilder parse(final PerformableTree story, final JUnitRunner.ReportLevel reportLevel) {
         switch (reportLevel) {
             case STEP:
-                return new StepLevelDescriptionBuilder(story);
+                return new TreeDescriptionBuilder(new StepLevelTreeBuilder<>(), story);
+            case SCENARIO:
+                return new TreeDescriptionBuilder(new ScenarioLevelTreeBuilder<>(), story);
             case STORY:
-                return new StoryLevelDescriptionBuilder(story);
+                return new TreeDescriptionBuilder(new StoryLevelTreeBuilder<>(), story);
             default:
                 throw new IllegalArgumentException("Unsupported report level: " + reportLevel);
         }
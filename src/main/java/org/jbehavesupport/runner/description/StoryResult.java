@@ -20,6 +20,7 @@
 package org.jbehavesupport.runner.description;
 
 import java.util.List;
+import java.util.Map;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -33,4 +34,12 @@ import org.junit.runner.Description;
 @AllArgsConstructor
 public class StoryResult {
     private final List<Description> storyDescriptions;
+    /**
+     * Paths of the stories by the descriptions of the top level stories, compared by identity.
+     */
+    private final Map<Description, String> storyPaths;
+    /**
+     * Indexes of the scenarios within their story by the descriptions of the scenarios, compared by identity.
+     */
+    private final Map<Description, Integer> scenarioIndexes;
 }
@@ -16,44 +16,38 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.jbehavesupport.runner.description;
 
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.buildStoryText;
-import static org.junit.runner.Description.createTestDescription;
-
 import java.util.List;
-import java.util.stream.Collectors;
 
+import lombok.RequiredArgsConstructor;
+import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.embedder.PerformableTree;
-import org.jbehave.core.model.Story;
+import org.jbehave.core.steps.CandidateSteps;
+import org.jbehavesupport.core.tree.AbstractTreeBuilder;
 import org.junit.runner.Description;
 
-/**
- * @author Michal Bocek
- * @since 4/23/2017
- */
-class StoryLevelDescriptionBuilder extends AbstractDescriptionBuilder {
+@RequiredArgsConstructor
+class TreeDescriptionBuilder implements DescriptionBuilder {
 
-    private UniqueDescriptionGenerator descriptions = new UniqueDescriptionGenerator();
+    private final AbstractTreeBuilder<Description> treeBuilder;
+    private final PerformableTree story;
 
-    public StoryLevelDescriptionBuilder(final PerformableTree story) {
-        super(story);
+    @Override
+    public DescriptionBuilder withCandidateSteps(List<CandidateSteps> candidateSteps) {
+        treeBuilder.withCandidateSteps(candidateSteps);
+        return this;
     }
 
-
     @Override
-    public StoryResult buildDescription() {
-        List<Description> descriptions = getStory().getRoot()
-            .getStories()
-            .stream()
-            .map(this::createStoryDescription)
-            .collect(Collectors.toList());
-        return new StoryResult(descriptions);
+    public DescriptionBuilder withKeywords(Keywords keywords) {
+        treeBuilder.withKeywords(keywords);
+        return this;
     }
 
     @Override
-    protected Description createStoryDescription(final PerformableTree.PerformableStory story) {
-        return createTestDescription(Story.class, buildStoryText(descriptions.getUnique(story.getStory().getName())));
+    public StoryResult buildDescription() {
+        DescriptionFactory factory = new DescriptionFactory();
+        return new StoryResult(treeBuilder.build(factory, story), factory.getStoryPaths(), factory.getScenarioIndexes());
     }
 }
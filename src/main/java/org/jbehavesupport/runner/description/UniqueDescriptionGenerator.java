@@ -16,26 +16,12 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.jbehavesupport.runner.description;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
- * @author Michal Bocek
- * @since 19/09/2017
+ * @deprecated moved to {@link org.jbehavesupport.core.tree.UniqueDescriptionGenerator}, which is shared by the runner
+ * and the engine
  */
-public class UniqueDescriptionGenerator {
-
-    private Set<String> descriptions = new HashSet<>();
-
-    public String getUnique(String description) {
-        String result = description;
-        while (descriptions.contains(result)) {
-            result += '\u200B'; // zero-width-space
-        }
-        descriptions.add(result);
-        return result;
-    }
+@Deprecated
+public class UniqueDescriptionGenerator extends org.jbehavesupport.core.tree.UniqueDescriptionGenerator {
 }
@@ -18,16 +18,16 @@
  */
 package org.jbehavesupport.runner.reporter;
 
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.buildStoryText;
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.removeClass;
-
-import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.reporter.AbstractTreeReporter;
 import org.junit.runner.Description;
 
+import static org.jbehavesupport.core.TextFormatter.buildStoryText;
+import static org.jbehavesupport.core.TextFormatter.removeClass;
+
 /**
- * @author Michal Bocek
- * @since 25/04/2017
+ * @deprecated the runner reporters extend {@link AbstractTreeReporter}, which is shared by the runner and the engine
  */
+@Deprecated
 public class AbstractJUnitReporter extends LoggingReporter {
     protected static final String BEFORE_STORIES = "BeforeStories";
     protected static final String AFTER_STORIES = "AfterStories";
@@ -19,72 +19,18 @@
 package org.jbehavesupport.runner.reporter;
 
 import org.jbehave.core.configuration.Configuration;
-import org.jbehave.core.failures.PendingStepFound;
-import org.jbehave.core.failures.UUIDExceptionWrapper;
-import org.jbehave.core.model.Story;
+import org.jbehavesupport.core.reporter.StoryLevelReporter;
+import org.jbehavesupport.runner.description.DescriptionTree;
 import org.junit.runner.Description;
-import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 
-import static java.util.Objects.nonNull;
-
 /**
  * @author Michal Bocek
  * @since 21/04/2017
  */
-public class JUnitStoryReporter extends AbstractJUnitReporter {
-
-    private final RunNotifier notifier;
-    private final Description rootDescription;
-    private final Configuration configuration;
-
-    private Description currentStoryDescription;
+public class JUnitStoryReporter extends StoryLevelReporter<Description> {
 
     public JUnitStoryReporter(RunNotifier notifier, Description rootDescription, Configuration configuration) {
-        this.notifier = notifier;
-        this.rootDescription = rootDescription;
-        this.configuration = configuration;
-    }
-
-    @Override
-    public void beforeStory(Story story, boolean givenStory) {
-        if (givenStory) {
-            this.givenStories++;
-        } else {
-            for (Description description : rootDescription.getChildren()) {
-                if (description.isTest()
-                    && suiteIsEligibleAs(description, story.getName())) {
-                    currentStoryDescription = description;
-                    notifier.fireTestStarted(currentStoryDescription);
-                }
-            }
-        }
-        super.beforeStory(story, givenStory);
-    }
-
-    @Override
-    public void afterStory(boolean givenOrRestartingStory) {
-        super.afterStory(givenOrRestartingStory);
-        if (isAGivenStory()) {
-            this.givenStories--;
-        } else if (nonNull(currentStoryDescription)) {
-            notifier.fireTestFinished(currentStoryDescription);
-            currentStoryDescription = null;
-        }
-    }
-
-    @Override
-    public void failed(String step, Throwable cause) {
-        if (cause instanceof UUIDExceptionWrapper) {
-            cause = cause.getCause();
-        }
-        super.failed(step, cause);
-        notifier.fireTestFailure(new Failure(currentStoryDescription, cause));
-    }
-
-    @Override
-    public void pending(String step) {
-        super.pending(step);
-        notifier.fireTestFailure(new Failure(currentStoryDescription, new PendingStepFound(step)));
+        super(new DescriptionTree(), new RunNotifierListener(notifier), rootDescription, configuration);
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner.reporter;
+
+import lombok.RequiredArgsConstructor;
+import org.jbehavesupport.core.reporter.ExecutionListener;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * Fires the execution events on the JUnit 4 {@link RunNotifier}. Skipped and pending tests are reported as ignored.
+ */
+@RequiredArgsConstructor
+public class RunNotifierListener implements ExecutionListener<Description> {
+
+    private final RunNotifier notifier;
+
+    @Override
+    public void started(Description node) {
+        notifier.fireTestStarted(node);
+    }
+
+    @Override
+    public void finished(Description node) {
+        notifier.fireTestFinished(node);
+    }
+
+    @Override
+    public void failed(Description node, Throwable cause) {
+        notifier.fireTestFailure(new Failure(node, cause));
+    }
+
+    @Override
+    public void skipped(Description node, String reason) {
+        notifier.fireTestIgnored(node);
+    }
+
+    @Override
+    public void pending(Description node, String step) {
+        notifier.fireTestIgnored(node);
+    }
+}
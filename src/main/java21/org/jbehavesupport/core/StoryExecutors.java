@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors running the stories, Java 21 version.
+ */
+public final class StoryExecutors {
+
+    public static final String VIRTUAL_THREADS_PROPERTY = "jbehave.execution.virtual.threads";
+
+    private StoryExecutors() {
+    }
+
+    public static boolean supportsVirtualThreads() {
+        return true;
+    }
+
+    /**
+     * Returns the executor starting a new virtual thread for every story.
+     */
+    public static Optional<ExecutorService> virtualThreadExecutor() {
+        return Optional.of(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jbehave-story-", 1).factory()));
+    }
+}
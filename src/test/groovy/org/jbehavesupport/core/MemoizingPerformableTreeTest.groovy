@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core
+
+import org.jbehave.core.configuration.MostUsefulConfiguration
+import org.jbehave.core.embedder.AllStepCandidates
+import org.jbehave.core.embedder.Embedder
+import org.jbehave.core.embedder.MetaFilter
+import org.jbehave.core.embedder.NullEmbedderMonitor
+import org.jbehave.core.embedder.PerformableTree
+import org.jbehave.core.failures.BatchFailures
+import org.jbehave.core.model.Story
+import org.jbehave.core.reporters.NullStoryReporter
+import org.jbehave.core.steps.InstanceStepsFactory
+import org.jbehavesupport.runner.story.steps.TestSteps
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class MemoizingPerformableTreeTest extends Specification {
+
+    def configuration = new MostUsefulConfiguration()
+    def tree = new MemoizingPerformableTree()
+
+    def "Test memoized given stories are performed by their first reference only"() {
+        given:
+        def context = tree.newRunContext(configuration, new AllStepCandidates([]), new NullEmbedderMonitor(),
+            new MetaFilter(), new BatchFailures())
+        def stories = ["org/jbehavesupport/runner/story/MemoizedGivenStory.story",
+                       "org/jbehavesupport/runner/story/SecondMemoizedGivenStory.story"]
+            .collect { tree.storyOfPath(configuration, it) }
+
+        when:
+        tree.addStories(context, stories)
+        def performableStories = tree.root.stories
+
+        then:
+        reused(performableStories[0].scenarios[0]) == [false, false, false]
+        reused(performableStories[0].scenarios[1]) == [true, true, false]
+        reused(performableStories[1].scenarios[0]) == [true, false, false]
+        reused(performableStories[1].scenarios[1]) == [true, true, false]
+        givenStories(performableStories[0].scenarios[1])[0].scenarios.isEmpty()
+        givenStories(performableStories[0].scenarios[1])[0].name == "MemoizedGivenStory.story"
+    }
+
+    def "Test stories loaded outside of the tree are not memoized"() {
+        when:
+        def first = tree.storyOfPath(configuration, "org/jbehavesupport/runner/story/givenStory/MemoizedGivenStory.story")
+        def second = tree.storyOfPath(configuration, "org/jbehavesupport/runner/story/givenStory/MemoizedGivenStory.story")
+
+        then:
+        !MemoizingPerformableTree.isReused(first)
+        !MemoizingPerformableTree.isReused(second)
+        second.scenarios.size() == 1
+    }
+
+    @Unroll
+    def "Test memoized given story is performed by its first performed reference (#description)"() {
+        given:
+        def performedGivenStories = new CopyOnWriteArrayList<List>()
+        def embedder = embedder(performedGivenStories, comparator, 1, false)
+
+        when:
+        // added in the opposite order to the performed one when reversed
+        embedder.runStoriesAsPaths(["org/jbehavesupport/runner/story/MemoizedGivenStory.story",
+                                    "org/jbehavesupport/runner/story/SecondMemoizedGivenStory.story"])
+        def memoized = performedGivenStories.findAll { it[1] == "MemoizedGivenStory.story" }
+
+        then:
+        performedGivenStories[0][0] == firstStory
+        memoized*.getAt(2) == [false, true, true, true]
+        storyMemoized(performedGivenStories, "MemoizedGivenStory.story") == [false, true]
+        storyMemoized(performedGivenStories, "SecondMemoizedGivenStory.story") == [false, true]
+
+        where:
+        description | comparator                                             | firstStory
+        "by path"   | Comparator.comparing({ Story story -> story.path })    | "MemoizedGivenStory.story"
+        "reversed"  | Comparator.comparing({ Story story -> story.path }).reversed() | "SecondMemoizedGivenStory.story"
+    }
+
+    def "Test memoized given story is performed once per story when stories run in parallel"() {
+        given:
+        def performedGivenStories = new CopyOnWriteArrayList<List>()
+        def embedder = embedder(performedGivenStories, Comparator.comparing({ Story story -> story.path }).reversed(), 2, true)
+
+        when:
+        embedder.runStoriesAsPaths(["org/jbehavesupport/runner/story/MemoizedGivenStory.story",
+                                    "org/jbehavesupport/runner/story/SecondMemoizedGivenStory.story"])
+
+        then:
+        ["MemoizedGivenStory.story", "SecondMemoizedGivenStory.story"].each { rootStory ->
+            assert performedGivenStories.findAll { it[0] == rootStory && it[1] == "MemoizedGivenStory.story" }*.getAt(2) == [false, true]
+            assert storyMemoized(performedGivenStories, rootStory) == [false, true]
+        }
+    }
+
+    private Embedder embedder(List<List> performedGivenStories, Comparator<Story> comparator, int threads, boolean parallelStories) {
+        def rootStory = new ThreadLocal<String>()
+        configuration.useStoryExecutionComparator(comparator)
+        configuration.storyReporterBuilder().withReporters(new NullStoryReporter() {
+            @Override
+            void beforeStory(Story story, boolean givenStory) {
+                if (givenStory) {
+                    performedGivenStories << [rootStory.get(), story.name, MemoizingPerformableTree.isReused(story)]
+                } else {
+                    rootStory.set(story.name)
+                }
+            }
+        })
+        def embedder = new Embedder()
+        embedder.useConfiguration(configuration)
+        embedder.useStepsFactory(new InstanceStepsFactory(configuration, new TestSteps()))
+        embedder.usePerformableTree(tree.withParallelStories(parallelStories))
+        embedder.useEmbedderMonitor(new NullEmbedderMonitor())
+        embedder.embedderControls()
+            .useThreads(threads)
+            .doGenerateViewAfterStories(false)
+        embedder
+    }
+
+    private static List storyMemoized(List<List> performedGivenStories, String rootStory) {
+        performedGivenStories.findAll { it[0] == rootStory && it[1] == "StoryMemoizedGivenStory.story" }*.getAt(2)
+    }
+
+    private static List givenStories(PerformableTree.PerformableScenario scenario) {
+        scenario.@normalScenario.givenStories.@performableGivenStories*.story
+    }
+
+    private static List reused(PerformableTree.PerformableScenario scenario) {
+        givenStories(scenario).collect { MemoizingPerformableTree.isReused(it) }
+    }
+}
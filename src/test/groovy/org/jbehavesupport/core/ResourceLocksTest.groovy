@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core
+
+import org.jbehave.core.configuration.Keywords
+import org.jbehave.core.model.Meta
+import org.jbehave.core.model.Scenario
+import org.jbehave.core.model.Story
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+class ResourceLocksTest extends Specification {
+
+    def "Test resources are collected from the story and its scenarios"() {
+        given:
+        def story = new Story("story", null, meta("@resourceLock account READ"), null, [
+            new Scenario("first", meta("@resourceLock queue, account")),
+            new Scenario("second", meta("@other")),
+            new Scenario("third", meta("@resourceLock file read"))
+        ])
+
+        when:
+        def locks = ResourceLocks.of(story)
+
+        then:
+        locks.resources == [account: ResourceLocks.Mode.READ_WRITE, file: ResourceLocks.Mode.READ,
+                            queue: ResourceLocks.Mode.READ_WRITE]
+        locks.exclusive
+    }
+
+    def "Test read locks are not exclusive"() {
+        expect:
+        !ResourceLocks.of(meta("@resourceLock account READ")).exclusive
+        ResourceLocks.of(meta("@other")).resources.isEmpty()
+    }
+
+    def "Test invalid mode is rejected"() {
+        when:
+        ResourceLocks.of(meta("@resourceLock account WRITE"))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Test read locks are shared and the write lock is exclusive"() {
+        given:
+        def holder = ResourceLocks.of(meta("@resourceLock locksTest READ"))
+        holder.acquire()
+
+        when:
+        def reader = CompletableFuture.runAsync {
+            def locks = ResourceLocks.of(meta("@resourceLock locksTest READ"))
+            locks.acquire()
+            locks.release()
+        }
+        reader.get(5, TimeUnit.SECONDS)
+        def writer = CompletableFuture.runAsync {
+            def locks = ResourceLocks.of(meta("@resourceLock locksTest"))
+            locks.acquire()
+            locks.release()
+        }
+        writer.get(200, TimeUnit.MILLISECONDS)
+
+        then:
+        thrown(TimeoutException)
+
+        when:
+        holder.release()
+        writer.get(5, TimeUnit.SECONDS)
+
+        then:
+        writer.done
+    }
+
+    private static Meta meta(String meta) {
+        Meta.createMeta(meta, new Keywords())
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core
+
+import org.jbehave.core.annotations.Alias
+import org.jbehave.core.annotations.Aliases
+import org.jbehave.core.annotations.Composite
+import org.jbehave.core.annotations.Given
+import org.jbehave.core.annotations.Then
+import org.jbehave.core.annotations.When
+import org.jbehave.core.steps.Steps
+import org.jbehave.core.steps.StepType
+import org.jbehavesupport.engine.story.CompositeStepStories
+import org.jbehavesupport.runner.story.steps.TestSteps
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class StepCandidateIndexTest extends Specification {
+
+    Path index
+
+    def cleanup() {
+        if (index != null) {
+            Files.deleteIfExists(index)
+        }
+    }
+
+    def "Test candidates listed from the index are the annotated candidates"() {
+        given:
+        def embedder = new CompositeStepStories().configuredEmbedder()
+        writeIndex(TestSteps, entries(TestSteps))
+
+        when:
+        def candidateSteps = StepCandidateIndex.candidateSteps(embedder)
+
+        then:
+        candidateSteps.size() == 1
+        candidateSteps[0].class != Steps
+        candidates(candidateSteps[0]) == candidates(new Steps(embedder.configuration(), TestSteps, embedder.stepsFactory()))
+        candidateSteps[0].listCandidates().find { it.composite }.composedSteps() as List == ["When Sign up user", "When Auditing user"]
+    }
+
+    def "Test out of date index is not used"() {
+        given:
+        def embedder = new CompositeStepStories().configuredEmbedder()
+        def entries = entries(TestSteps)
+        entries << new StepCandidateIndex.Entry(StepType.GIVEN, 0, "removedStep", [], ["removed step"], false, [])
+        writeIndex(TestSteps, entries)
+
+        when:
+        def candidateSteps = StepCandidateIndex.candidateSteps(embedder)
+
+        then:
+        candidates(candidateSteps[0]) == candidates(new Steps(embedder.configuration(), TestSteps, embedder.stepsFactory()))
+    }
+
+    @Unroll
+    def "Test index is not used when #change"() {
+        given:
+        def embedder = new CompositeStepStories().configuredEmbedder()
+        def entries = entries(TestSteps)
+        entries[0] = changed(entries[0])
+        writeIndex(TestSteps, entries)
+
+        when:
+        def candidateSteps = StepCandidateIndex.candidateSteps(embedder)
+
+        then:
+        candidates(candidateSteps[0]) == candidates(new Steps(embedder.configuration(), TestSteps, embedder.stepsFactory()))
+
+        where:
+        change                           | changed
+        "the annotation value changed"   | { new StepCandidateIndex.Entry(it.stepType, it.priority, it.methodName, it.parameterTypes, ["changed"] + it.patterns.tail(), it.composite, it.composedSteps) }
+        "the priority changed"           | { new StepCandidateIndex.Entry(it.stepType, it.priority + 1, it.methodName, it.parameterTypes, it.patterns, it.composite, it.composedSteps) }
+        "the annotation was removed"     | { new StepCandidateIndex.Entry(it.stepType == StepType.GIVEN ? StepType.THEN : StepType.GIVEN, it.priority, it.methodName, it.parameterTypes, it.patterns, it.composite, it.composedSteps) }
+        "the composite steps changed"    | { new StepCandidateIndex.Entry(it.stepType, it.priority, it.methodName, it.parameterTypes, it.patterns, !it.composite, ["When changed"]) }
+    }
+
+    def "Test index is not used with alias files"() {
+        given:
+        def embedder = new CompositeStepStories().configuredEmbedder()
+        embedder.configuration().useAliasPaths(["aliases.json"] as Set)
+        writeIndex(TestSteps, entries(TestSteps))
+
+        expect:
+        StepCandidateIndex.candidateSteps(embedder)[0].class == Steps
+    }
+
+    def "Test steps without index are listed from the annotations"() {
+        expect:
+        !StepCandidateIndex.read(TestSteps).present
+        StepCandidateIndex.candidateSteps(new CompositeStepStories().configuredEmbedder())[0].class == Steps
+    }
+
+    def "Test engine discovers the stories with the index"() {
+        given:
+        writeIndex(TestSteps, entries(TestSteps))
+
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .selectors(selectClass(CompositeStepStories))
+            .execute()
+
+        then:
+        executionResults.testEvents().succeeded().count() == 4
+        executionResults.allEvents().failed().count() == 0
+    }
+
+    private void writeIndex(Class type, List<StepCandidateIndex.Entry> entries) {
+        def classpathRoot = Paths.get(type.protectionDomain.codeSource.location.toURI())
+        index = classpathRoot.resolve(StepCandidateIndex.resourceName(type.name))
+        Files.createDirectories(index.parent)
+        index.withOutputStream { StepCandidateIndex.write(entries, it) }
+    }
+
+    /**
+     * Entries as written by the annotation processor.
+     */
+    private static List<StepCandidateIndex.Entry> entries(Class type) {
+        def entries = []
+        type.methods.each { method ->
+            [(StepType.GIVEN): method.getAnnotation(Given), (StepType.WHEN): method.getAnnotation(When), (StepType.THEN): method.getAnnotation(Then)]
+                .findAll { it.value != null }
+                .each { stepType, annotation ->
+                    def patterns = [annotation.value()]
+                    patterns.addAll(method.getAnnotation(Aliases)?.values() ?: [])
+                    if (method.getAnnotation(Alias) != null) {
+                        patterns << method.getAnnotation(Alias).value()
+                    }
+                    def composite = method.getAnnotation(Composite)
+                    entries << new StepCandidateIndex.Entry(stepType, annotation.priority(), method.name,
+                        method.parameterTypes*.name, patterns, composite != null, composite?.steps()?.toList() ?: [])
+                }
+        }
+        entries
+    }
+
+    private static Set candidates(def candidateSteps) {
+        candidateSteps.listCandidates().collect {
+            [it.patternAsString, it.stepType, it.method, it.priority, it.composedSteps()?.toList()]
+        } as Set
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.core.reporter
+
+import ch.qos.logback.classic.Logger
+import ch.qos.logback.classic.spi.ILoggingEvent
+import ch.qos.logback.core.read.ListAppender
+import org.jbehave.core.model.Narrative
+import org.slf4j.LoggerFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+class LoggingReporterTest extends Specification {
+
+    def appender = new ListAppender<ILoggingEvent>()
+    def logger = (Logger) LoggerFactory.getLogger(LoggingReporter)
+
+    def setup() {
+        appender.start()
+        logger.addAppender(appender)
+    }
+
+    def cleanup() {
+        logger.detachAppender(appender)
+    }
+
+    @Unroll
+    def "Test #level includes #included"() {
+        expect:
+        level.includes(included) == result
+
+        where:
+        level                 | included              || result
+        LoggingLevel.STEP     | LoggingLevel.STORY    || true
+        LoggingLevel.SCENARIO | LoggingLevel.STEP     || false
+        LoggingLevel.ERROR    | LoggingLevel.ERROR    || true
+        LoggingLevel.OFF      | LoggingLevel.ERROR    || false
+        LoggingLevel.STEP     | LoggingLevel.OFF      || false
+    }
+
+    def "Test disabled level does not touch arguments"() {
+        given:
+        def narrative = Mock(Narrative, constructorArgs: ["", "", ""])
+        def reporter = new LoggingReporter().useLoggingLevel(LoggingLevel.ERROR)
+
+        when:
+        reporter.narrative(narrative)
+        reporter.successful("Given say Hello")
+        reporter.failed("Then Failed step", new RuntimeException("Failing step..."))
+
+        then:
+        0 * narrative._
+        appender.list.size() == 1
+        appender.list[0].throwableProxy.message == "Failing step..."
+    }
+
+    def "Test async logging keeps the producing thread"() {
+        given:
+        def reporter = new LoggingReporter().doAsyncLogging(true)
+        def conditions = new PollingConditions(timeout: 5)
+
+        when:
+        reporter.successful("Given say Hello")
+
+        then:
+        conditions.eventually {
+            assert appender.list*.formattedMessage == ["[" + Thread.currentThread().name + "] Successful step: Given say Hello"]
+        }
+    }
+
+    def "Test sync and async logging log the same line"() {
+        given:
+        def conditions = new PollingConditions(timeout: 5)
+
+        when:
+        new LoggingReporter().successful("Given say Hello")
+        new LoggingReporter().doAsyncLogging(true).successful("Given say Hello")
+
+        then:
+        conditions.eventually {
+            assert appender.list.size() == 2
+            assert appender.list[0].formattedMessage == appender.list[1].formattedMessage
+        }
+    }
+
+    def "Test stopped dispatcher runs each buffered event once"() {
+        given:
+        def dispatcher = new AsyncLogDispatcher(16)
+        def latch = new CountDownLatch(1)
+        def runs = (0..<10).collect { new AtomicInteger() }
+        dispatcher.dispatch({ latch.await() } as Runnable)
+        runs.each { counter -> dispatcher.dispatch({ counter.incrementAndGet() } as Runnable) }
+
+        when:
+        def stopping = Thread.start { dispatcher.stop() }
+        latch.countDown()
+        stopping.join(5000)
+
+        then:
+        !dispatcher.worker.alive
+        runs*.get() == [1] * 10
+    }
+
+    def "Test async logging formats the arguments as they were logged"() {
+        given:
+        def reporter = new LoggingReporter().doAsyncLogging(true)
+        def conditions = new PollingConditions(timeout: 5)
+        def row = [username: "JohnDow"]
+        def latch = new CountDownLatch(1)
+        AsyncLogDispatcher.instance.dispatch({ latch.await() } as Runnable)
+
+        when:
+        reporter.info("Row: {}", row)
+        row.username = "Tester"
+        latch.countDown()
+
+        then:
+        conditions.eventually {
+            assert appender.list*.formattedMessage == ["[" + Thread.currentThread().name + "] Row: {username=JohnDow}"]
+        }
+    }
+
+    def "Test async logging does not drop errors when the buffer is full"() {
+        given:
+        def reporter = new LoggingReporter().doAsyncLogging(true)
+        def conditions = new PollingConditions(timeout: 5)
+        def latch = new CountDownLatch(1)
+        def dispatcher = AsyncLogDispatcher.instance
+        dispatcher.dispatch({ latch.await() } as Runnable)
+        // the worker is blocked by the first event, fill the whole buffer
+        (0..<8192).each { dispatcher.dispatch({} as Runnable) }
+        reporter.info("Dropped")
+
+        when:
+        def failing = Thread.start { reporter.failed("Then Failed step", new RuntimeException("Failing step...")) }
+        latch.countDown()
+        failing.join(5000)
+
+        then:
+        conditions.eventually {
+            assert appender.list*.throwableProxy*.message.contains("Failing step...")
+        }
+        !appender.list*.formattedMessage.any { it.endsWith("Dropped") }
+    }
+}
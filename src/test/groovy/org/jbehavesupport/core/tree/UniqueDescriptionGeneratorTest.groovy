@@ -17,7 +17,7 @@
  * under the License.
  */
 
-package org.jbehavesupport.runner.description
+package org.jbehavesupport.core.tree
 
 import spock.lang.Shared
 import spock.lang.Specification
@@ -18,6 +18,7 @@
  */
 package org.jbehavesupport.engine
 
+import org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor
 import org.jbehavesupport.engine.discovery.JBehaveDiscoverer
 import org.jbehavesupport.engine.story.BasicStory
 import org.junit.platform.engine.UniqueId
@@ -134,4 +135,26 @@ class BasicStoryTest extends Specification {
         children[0].children.size() == 0
     }
 
+    def "Test class state is released after execution"() {
+        given:
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(BasicStory))
+
+        when:
+        def executionResults = builder.execute()
+        def classDescriptor = executionResults.containerEvents()
+            .finished()
+            .map { it.testDescriptor }
+            .filter { it.uniqueId.lastSegment.type == JBehaveTestDescriptor.SEGMENT_TYPE_CLASS }
+            .findFirst()
+            .get()
+
+        then:
+        classDescriptor.displayName == "BasicStory"
+        classDescriptor.configuredEmbedder == null
+        classDescriptor.storyPaths == null
+        !classDescriptor.runnable
+    }
+
 }
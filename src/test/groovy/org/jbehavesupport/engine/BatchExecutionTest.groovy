@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.discovery.JBehaveDiscoverer
+import org.jbehavesupport.engine.executor.StoryBatches
+import org.jbehavesupport.engine.story.BasicStory
+import org.jbehavesupport.engine.story.CommentStepStories
+import org.jbehavesupport.engine.story.ExamplesStories
+import org.jbehavesupport.engine.story.GivenStoryBeforeScenarioStories
+import org.jbehavesupport.engine.story.TwoGivenStoryBeforeScenarioStories
+import org.junit.platform.engine.UniqueId
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+import spock.util.environment.RestoreSystemProperties
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+import static org.junit.platform.testkit.engine.EventConditions.container
+import static org.junit.platform.testkit.engine.EventConditions.engine
+import static org.junit.platform.testkit.engine.EventConditions.event
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully
+import static org.junit.platform.testkit.engine.EventConditions.skippedWithReason
+import static org.junit.platform.testkit.engine.EventConditions.started
+import static org.junit.platform.testkit.engine.EventConditions.test
+import static org.junit.platform.testkit.engine.EventConditions.uniqueIdSubstrings
+
+@RestoreSystemProperties
+class BatchExecutionTest extends Specification {
+
+    def setup() {
+        System.setProperty(JBehaveTestEngine.BATCH_PROPERTY, "true")
+        System.setProperty(JBehaveTestEngine.COMPARATOR_PROPERTY, DisplayNameComparator.class.getName())
+    }
+
+    def "Test classes are grouped by configuration, steps and story names"() {
+        given:
+        def request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectClass(BasicStory), selectClass(ExamplesStories), selectClass(CommentStepStories),
+                selectClass(GivenStoryBeforeScenarioStories), selectClass(TwoGivenStoryBeforeScenarioStories))
+            .build()
+        def engineDescriptor = new JBehaveDiscoverer().discover(request, UniqueId.forEngine("jbehave"))
+
+        when:
+        def batches = StoryBatches.group(engineDescriptor.children.toList())
+
+        then:
+        batches.collect { batch -> batch*.displayName } == [
+            ["BasicStory", "CommentStepStories", "GivenStoryBeforeScenarioStories"],
+            ["ExamplesStories"],
+            ["TwoGivenStoryBeforeScenarioStories"]
+        ]
+    }
+
+    def "Test correct notifications"() {
+        given:
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(BasicStory), selectClass(CommentStepStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.allEvents()
+            .assertEventsMatchExactly(
+                event(engine(), started()),
+                event(container(BasicStory), started()),
+                event(container(CommentStepStories), started()),
+                event(test(uniqueIdSubstrings(CommentStepStories.getName(), "BeforeStories")), skippedWithReason("BeforeStories executed once by BasicStory")),
+                event(test(uniqueIdSubstrings(BasicStory.getName(), "BeforeStories")), started()),
+                event(test(uniqueIdSubstrings(BasicStory.getName(), "BeforeStories")), finishedSuccessfully()),
+                event(container("Story: basic_story"), started()),
+                event(container("Scenario: Very simple scenario"), started()),
+                event(test("Given say Hello"), started()),
+                event(test("Given say Hello"), finishedSuccessfully()),
+                event(container("Scenario: Very simple scenario"), finishedSuccessfully()),
+                event(container("Story: basic_story"), finishedSuccessfully()),
+                event(container("Story: CommentStep"), started()),
+                event(container("Scenario: Very simple scenario"), started()),
+                event(test("Given say Hello"), started()),
+                event(test("Given say Hello"), finishedSuccessfully()),
+                event(container("Scenario: Very simple scenario"), finishedSuccessfully()),
+                event(container("Story: CommentStep"), finishedSuccessfully()),
+                event(test(uniqueIdSubstrings(CommentStepStories.getName(), "AfterStories")), started()),
+                event(test(uniqueIdSubstrings(CommentStepStories.getName(), "AfterStories")), finishedSuccessfully()),
+                event(test(uniqueIdSubstrings(BasicStory.getName(), "AfterStories")), skippedWithReason("AfterStories executed once by CommentStepStories")),
+                event(container(BasicStory), finishedSuccessfully()),
+                event(container(CommentStepStories), finishedSuccessfully()),
+                event(engine(), finishedSuccessfully())
+            )
+    }
+
+    def "Test correct notifications for story level reporter"() {
+        given:
+        System.setProperty("jbehave.report.level", "STORY")
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(BasicStory), selectClass(CommentStepStories), selectClass(ExamplesStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.allEvents()
+            .assertEventsMatchExactly(
+                event(engine(), started()),
+                event(container(BasicStory), started()),
+                event(container(CommentStepStories), started()),
+                event(test("basic_story"), started()),
+                event(test("basic_story"), finishedSuccessfully()),
+                event(test("CommentStep"), started()),
+                event(test("CommentStep"), finishedSuccessfully()),
+                event(container(BasicStory), finishedSuccessfully()),
+                event(container(CommentStepStories), finishedSuccessfully()),
+                event(container(ExamplesStories), started()),
+                event(test("Examples"), started()),
+                event(test("Examples"), finishedSuccessfully()),
+                event(container(ExamplesStories), finishedSuccessfully()),
+                event(engine(), finishedSuccessfully())
+            )
+    }
+}
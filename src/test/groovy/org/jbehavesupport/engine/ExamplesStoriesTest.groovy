@@ -154,4 +154,59 @@ class ExamplesStoriesTest extends Specification {
         children[0].children.size() == 0
     }
 
+    @RestoreSystemProperties
+    def "Test correct notifications for scenario level reporter"() {
+        given:
+        System.setProperty("jbehave.report.level", "SCENARIO")
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(ExamplesStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.allEvents()
+            .assertEventsMatchExactly(
+                event(engine(), started()),
+                event(container(ExamplesStories), started()),
+                event(container("Story: Examples"), started()),
+                event(container("Scenario: login to system"), started()),
+                event(test("Example: {url=http://examplescom/login, status=OK}"), started()),
+                event(test("Example: {url=http://examplescom/login, status=OK}"), finishedSuccessfully()),
+                event(test("Example: {url=http://examplescom/logout, status=NOK}"), started()),
+                event(test("Example: {url=http://examplescom/logout, status=NOK}"), finishedSuccessfully()),
+                event(container("Scenario: login to system"), finishedSuccessfully()),
+                event(container("Story: Examples"), finishedSuccessfully()),
+                event(container(ExamplesStories), finishedSuccessfully()),
+                event(engine(), finishedSuccessfully())
+            )
+    }
+
+    @RestoreSystemProperties
+    def "Test descriptions for scenario level reporter"() {
+        given:
+        System.setProperty("jbehave.report.level", "SCENARIO")
+        def request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectClass(ExamplesStories))
+            .build()
+
+        def discoverer = new JBehaveDiscoverer()
+
+        when:
+        def engineDescriptor = discoverer.discover(request, UniqueId.forEngine("jbehave"))
+        def desc = engineDescriptor.children[0]
+        def children = desc.children
+
+        then:
+        desc.displayName == "ExamplesStories"
+        children.size() == 1
+        children[0].displayName == "Story: Examples"
+        children[0].children[0].displayName == "Scenario: login to system"
+        children[0].children[0].children.size() == 2
+        children[0].children[0].children[0].displayName =~ /Example.*/
+        children[0].children[0].children[0].children.size() == 0
+        children[0].children[0].children[1].displayName =~ /Example.*/
+    }
+
 }
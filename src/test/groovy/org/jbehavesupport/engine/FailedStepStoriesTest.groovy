@@ -149,4 +149,29 @@ class FailedStepStoriesTest extends Specification {
         children[0].children.size() == 0
     }
 
+    @RestoreSystemProperties
+    def "Test correct notifications for scenario level reporter"() {
+        given:
+        System.setProperty("jbehave.report.level", "SCENARIO")
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(FailedStepStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.allEvents()
+            .assertEventsMatchExactly(
+                event(engine(), started()),
+                event(container(FailedStepStories), started()),
+                event(container("Story: FailedStep"), started()),
+                event(test("Scenario: Failed step"), started()),
+                event(test("Scenario: Failed step"), finishedWithFailure()),
+                event(container("Story: FailedStep"), finishedSuccessfully()),
+                event(container(FailedStepStories), finishedSuccessfully()),
+                event(engine(), finishedSuccessfully())
+            )
+    }
+
 }
@@ -23,12 +23,12 @@ import org.jbehave.core.configuration.Keywords
 import spock.lang.Specification
 import spock.lang.Unroll
 
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.buildExampleText
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.buildScenarioText
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.buildStoryText
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.normalizeStep
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.normalizeStoryName
-import static org.jbehavesupport.runner.JUnitRunnerFormatter.removeClass
+import static org.jbehavesupport.core.TextFormatter.buildExampleText
+import static org.jbehavesupport.core.TextFormatter.buildScenarioText
+import static org.jbehavesupport.core.TextFormatter.buildStoryText
+import static org.jbehavesupport.core.TextFormatter.normalizeStep
+import static org.jbehavesupport.core.TextFormatter.normalizeStoryName
+import static org.jbehavesupport.core.TextFormatter.removeClass
 
 class FormatterTest extends Specification {
     @Unroll
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.executor.IncrementalExecution
+import org.jbehavesupport.engine.story.FailedStepStories
+import org.jbehavesupport.engine.story.MultipleStories
+import org.junit.platform.testkit.engine.EngineTestKit
+import org.junit.platform.testkit.engine.EventType
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class IncrementalExecutionTest extends Specification {
+
+    def "Test stories unchanged since their last successful run are skipped"() {
+        given:
+        def store = Files.createTempFile("jbehave-fingerprints", ".properties")
+
+        when:
+        def firstRun = execute(store)
+
+        then:
+        unchanged(firstRun).isEmpty()
+        fingerprints(store).size() == 3
+        fingerprints(store).keySet().every { it.contains("MultipleStories") }
+
+        when:
+        def secondRun = execute(store)
+
+        then:
+        unchanged(secondRun) ==
+            ["Scenario01", "Scenario01-1", "Scenario03", "BeforeStories", "AfterStories"] as Set
+        secondRun.testEvents().failed().count() == 1
+
+        cleanup:
+        Files.deleteIfExists(store)
+    }
+
+    def "Test changed story is run again"() {
+        given:
+        def store = Files.createTempFile("jbehave-fingerprints", ".properties")
+        execute(store)
+        def stored = fingerprints(store)
+        def changedKey = stored.keySet().find { it.endsWith("Scenario03.story") }
+        stored.setProperty(changedKey, "changed")
+        store.withWriter { stored.store(it, null) }
+
+        when:
+        def executionResults = execute(store)
+
+        then:
+        unchanged(executionResults) ==
+            ["Scenario01", "Scenario01-1"] as Set
+        fingerprints(store).getProperty(changedKey) != "changed"
+
+        cleanup:
+        Files.deleteIfExists(store)
+    }
+
+    private static execute(Path store) {
+        EngineTestKit.engine("jbehave")
+            .configurationParameter(IncrementalExecution.INCREMENTAL_PROPERTY, store.toString())
+            .selectors(selectClass(MultipleStories), selectClass(FailedStepStories))
+            .execute()
+    }
+
+    private static Set<String> unchanged(executionResults) {
+        executionResults.allEvents().list()
+            .findAll { it.type == EventType.SKIPPED && it.getPayload(String).get() == IncrementalExecution.SKIP_REASON }
+            .collect { it.testDescriptor.displayName.replaceAll("^Story: |[^\\w.-]", "") } as Set
+    }
+
+    private static Properties fingerprints(Path store) {
+        def properties = new Properties()
+        Files.newBufferedReader(store).withCloseable { properties.load(it) }
+        properties
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.descriptor.StoryParser
+import org.jbehavesupport.engine.discovery.JBehaveDiscoverer
+import org.jbehavesupport.engine.discovery.JBehaveSelectorResolver
+import org.jbehavesupport.engine.reporter.ReportLevel
+import org.jbehavesupport.engine.story.AndStepStories
+import org.jbehavesupport.engine.story.BasicStory
+import org.jbehavesupport.engine.story.CompositeStepStories
+import org.jbehavesupport.engine.story.ExamplesStories
+import org.jbehavesupport.engine.story.MultipleStories
+import org.junit.platform.engine.TestDescriptor
+import org.junit.platform.engine.UniqueId
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.ConcurrentHashMap
+
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_CLASS
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage
+
+class ParallelDiscoveryTest extends Specification {
+
+    def "Test parallel discovery builds the same tree as the sequential one"() {
+        when:
+        def sequential = discover(new JBehaveDiscoverer(), false)
+        def parallel = discover(new JBehaveDiscoverer(), true)
+
+        then:
+        sequential.children.size() > 10
+        tree(parallel.children) == tree(sequential.children)
+        parallel.children.every { it.runnable }
+    }
+
+    @Unroll
+    def "Test stories of #testClass.simpleName parsed in parallel have the same unique names"() {
+        given:
+        def instance = testClass.newInstance()
+        def embedder = instance.configuredEmbedder()
+        def parentId = UniqueId.forEngine("jbehave").append(SEGMENT_TYPE_CLASS, testClass.canonicalName)
+        def sequential = tree(StoryParser.parse(embedder, instance.storyPaths(), ReportLevel.STEP, parentId).storyDescriptors)
+
+        expect:
+        (1..5).every {
+            tree(StoryParser.parse(embedder, instance.storyPaths(), ReportLevel.STEP, parentId, true).storyDescriptors) == sequential
+        }
+
+        where:
+        testClass << [MultipleStories, CompositeStepStories, ExamplesStories, AndStepStories]
+    }
+
+    def "Test classes are discovered on the threads of the discovery pool"() {
+        given:
+        def threads = ConcurrentHashMap.newKeySet()
+        def discoverer = new JBehaveDiscoverer({ testClass ->
+            threads << Thread.currentThread().name
+            JBehaveSelectorResolver.instantiate(testClass)
+        }, { storyPath -> true })
+
+        when:
+        discover(discoverer, true)
+
+        then:
+        threads.every { it.contains("ForkJoinPool") }
+    }
+
+    def "Test classes without selected stories are removed"() {
+        given:
+        def discoverer = new JBehaveDiscoverer(JBehaveSelectorResolver.&instantiate, { storyPath -> storyPath.contains("basic_story") })
+
+        when:
+        def engineDescriptor = discover(discoverer, true)
+
+        then:
+        engineDescriptor.children*.displayName == ["BasicStory"]
+    }
+
+    def "Test stories discovered in parallel are executed"() {
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .configurationParameter(JBehaveSelectorResolver.PARALLEL_DISCOVERY_PROPERTY, "true")
+            .selectors(selectClass(BasicStory), selectClass(MultipleStories))
+            .execute()
+
+        then:
+        executionResults.testEvents().succeeded().count() == 14
+        executionResults.allEvents().failed().count() == 0
+    }
+
+    private static TestDescriptor discover(JBehaveDiscoverer discoverer, boolean parallel) {
+        def request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectPackage(BasicStory.package.name))
+            .configurationParameter(JBehaveSelectorResolver.PARALLEL_DISCOVERY_PROPERTY, parallel as String)
+            .build()
+        discoverer.discover(request, UniqueId.forEngine("jbehave"))
+    }
+
+    private static List tree(Collection<? extends TestDescriptor> descriptors) {
+        descriptors.collect {
+            [it.uniqueId, it.displayName, it.type, it.stepMethod, tree(it.children)]
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehave.core.configuration.Keywords
+import org.jbehave.core.model.Meta
+import org.jbehavesupport.core.ParallelExamplesPerformableScenario
+import org.jbehavesupport.engine.story.ParallelExamplesStories
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class ParallelExamplesTest extends Specification {
+
+    def "Test rows of examples are performed together and reported on their examples"() {
+        given:
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(ParallelExamplesStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.testEvents().succeeded().count() == 10
+        def failed = executionResults.testEvents().failed().list()*.testDescriptor
+        failed.size() == 1
+        failed[0].displayName.startsWith("Then row <row> is finished")
+        failed[0].parent.get().displayName.startsWith("Example: {row=failed")
+        executionResults.containerEvents()
+            .started()
+            .list()*.testDescriptor*.displayName
+            .findAll { it.startsWith("Example") }
+            .collect { it.find(/row=\w+/) } == ["row=first", "row=second", "row=failed", "row=second"]
+    }
+
+    def "Test number of threads is taken from the meta"() {
+        expect:
+        ParallelExamplesPerformableScenario.threads(Meta.createMeta(meta, new Keywords())) == threads
+
+        where:
+        meta                    || threads
+        "@other"                || 0
+        "@parallelExamples 3"   || 3
+        "@parallelExamples"     || Runtime.getRuntime().availableProcessors()
+        "@parallelExamples two" || 0
+    }
+}
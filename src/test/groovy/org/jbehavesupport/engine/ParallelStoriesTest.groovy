@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import ch.qos.logback.classic.Logger
+import ch.qos.logback.classic.spi.ILoggingEvent
+import ch.qos.logback.core.read.ListAppender
+import org.jbehavesupport.core.StoryExecutors
+import org.jbehavesupport.core.reporter.LoggingReporter
+import org.jbehavesupport.engine.story.MultipleStories
+import org.jbehavesupport.engine.story.ParallelMultipleStories
+import org.junit.platform.testkit.engine.EngineTestKit
+import org.junit.platform.testkit.engine.Events
+import org.slf4j.LoggerFactory
+import spock.lang.Requires
+import spock.lang.Specification
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class ParallelStoriesTest extends Specification {
+
+    def "Test stories run by more threads are reported on their descriptors"() {
+        when:
+        def sequential = events(execute(MultipleStories, [:]))
+        def parallel = execute(ParallelMultipleStories, [:])
+
+        then:
+        parallel.failed().count() == 0
+        events(parallel).sort() == sequential.sort()
+    }
+
+    @Requires({ !StoryExecutors.supportsVirtualThreads() })
+    def "Test stories are run when the virtual threads are not supported"() {
+        when:
+        def results = execute(MultipleStories, [(StoryExecutors.VIRTUAL_THREADS_PROPERTY): "true"])
+
+        then:
+        !StoryExecutors.supportsVirtualThreads()
+        results.failed().count() == 0
+        events(results).sort() == events(execute(MultipleStories, [:])).sort()
+    }
+
+    @Requires({ StoryExecutors.supportsVirtualThreads() })
+    def "Test stories are run on virtual threads"() {
+        given:
+        def appender = new ListAppender<ILoggingEvent>()
+        def logger = (Logger) LoggerFactory.getLogger(LoggingReporter)
+        appender.start()
+        logger.addAppender(appender)
+
+        when:
+        def results = execute(MultipleStories, [(StoryExecutors.VIRTUAL_THREADS_PROPERTY): "true"])
+
+        then:
+        results.failed().count() == 0
+        events(results).sort() == events(execute(MultipleStories, [:])).sort()
+        appender.list*.formattedMessage.any { it.startsWith("[jbehave-story-") }
+
+        cleanup:
+        logger.detachAppender(appender)
+    }
+
+    private static Events execute(Class storiesClass, Map<String, String> parameters) {
+        EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .configurationParameters(parameters)
+            .selectors(selectClass(storiesClass))
+            .execute()
+            .allEvents()
+    }
+
+    private static List<String> events(Events events) {
+        events.list().collect {
+            it.type.toString() + " " + it.testDescriptor.uniqueId.toString().replace(ParallelMultipleStories.name, MultipleStories.name) +
+                " " + it.payload.map { it.toString() }.orElse("")
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.discovery.JBehaveDiscoverer
+import org.jbehavesupport.engine.discovery.JBehaveSelectorResolver
+import org.jbehavesupport.engine.story.LoadCountingStories
+import org.jbehavesupport.engine.story.NewStepsInstancesStories
+import org.junit.platform.engine.UniqueId
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class RetainedPerformablesTest extends Specification {
+
+    static final String SCENARIO_STORY = "org/jbehavesupport/runner/story/multipleScenario/Scenario01.story"
+    static final String GIVEN_STORY = "org/jbehavesupport/runner/story/GivenStory.story"
+
+    def setup() {
+        LoadCountingStories.LOADED_STORIES.clear()
+    }
+
+    def "Test stories without given stories are retained by the discovery"() {
+        when:
+        def request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectClass(LoadCountingStories))
+            .configurationParameter(JBehaveSelectorResolver.RETAIN_PERFORMABLES_PROPERTY, "true")
+            .build()
+        def classDescriptor = new JBehaveDiscoverer().discover(request, UniqueId.forEngine("jbehave")).children[0]
+
+        then:
+        classDescriptor.performableStories.keySet() == [SCENARIO_STORY] as Set
+        classDescriptor.performableStories[SCENARIO_STORY].story.path == SCENARIO_STORY
+    }
+
+    def "Test retained stories are not loaded again by the execution"() {
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .configurationParameter(JBehaveSelectorResolver.RETAIN_PERFORMABLES_PROPERTY, "true")
+            .selectors(selectClass(LoadCountingStories))
+            .execute()
+
+        then:
+        executionResults.allEvents().failed().count() == 0
+        executionResults.testEvents().succeeded().count() == 8
+        LoadCountingStories.LOADED_STORIES.count(SCENARIO_STORY) == 1
+        LoadCountingStories.LOADED_STORIES.count(GIVEN_STORY) == 2
+    }
+
+    def "Test stories are built again when they are not retained"() {
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .selectors(selectClass(LoadCountingStories))
+            .execute()
+
+        then:
+        executionResults.allEvents().failed().count() == 0
+        executionResults.testEvents().succeeded().count() == 8
+        LoadCountingStories.LOADED_STORIES.count(SCENARIO_STORY) == 2
+    }
+
+    def "Test stories are not retained when the steps factory creates new steps instances"() {
+        when:
+        def request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectClass(NewStepsInstancesStories))
+            .configurationParameter(JBehaveSelectorResolver.RETAIN_PERFORMABLES_PROPERTY, "true")
+            .build()
+        def classDescriptor = new JBehaveDiscoverer().discover(request, UniqueId.forEngine("jbehave")).children[0]
+
+        then:
+        classDescriptor.performableStories.isEmpty()
+    }
+}
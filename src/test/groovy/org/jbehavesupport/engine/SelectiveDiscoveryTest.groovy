@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.discovery.JBehaveDiscoverer
+import org.jbehavesupport.engine.discovery.JBehaveSelectorResolver
+import org.jbehavesupport.engine.reporter.ReportLevel
+import org.jbehavesupport.engine.story.BasicStory
+import org.jbehavesupport.engine.story.MultipleStories
+import org.junit.platform.engine.DiscoverySelector
+import org.junit.platform.engine.TestDescriptor
+import org.junit.platform.engine.UniqueId
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static org.junit.platform.engine.discovery.ClassNameFilter.excludeClassNamePatterns
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId
+
+class SelectiveDiscoveryTest extends Specification {
+
+    static final UniqueId ENGINE_ID = UniqueId.forEngine("jbehave")
+    static final UniqueId MULTIPLE_STORIES_ID = ENGINE_ID.append("class", MultipleStories.canonicalName)
+
+    List<Class> instantiated = []
+
+    def "Test classes excluded by the class name filter are not instantiated"() {
+        when:
+        def engineDescriptor = discover([selectClass(MultipleStories), selectClass(BasicStory)],
+            { it.filters(excludeClassNamePatterns(".*MultipleStories")) })
+
+        then:
+        engineDescriptor.children*.displayName == ["BasicStory"]
+        instantiated == [BasicStory]
+    }
+
+    def "Test only the classes of the selected unique ids are instantiated"() {
+        when:
+        def engineDescriptor = discover([selectUniqueId(MULTIPLE_STORIES_ID)])
+
+        then:
+        instantiated == [MultipleStories]
+        engineDescriptor.children*.uniqueId == [MULTIPLE_STORIES_ID]
+        storyNames(engineDescriptor.children[0]) == ["BeforeStories", "Story: Scenario01", "Story: Scenario01-1", "Story: Scenario03", "AfterStories"]
+    }
+
+    @Unroll
+    def "Test only the selected stories of a class are discovered at #reportLevel report level"() {
+        when:
+        def engineDescriptor = discover([
+            selectUniqueId(MULTIPLE_STORIES_ID.append("story", storySegment(reportLevel, "Scenario03"))),
+            selectUniqueId(MULTIPLE_STORIES_ID.append("story", storySegment(reportLevel, "Scenario01")))
+        ], { it.configurationParameter(ReportLevel.REPORT_LEVEL_PROPERTY, reportLevel.name()) })
+
+        then:
+        instantiated == [MultipleStories]
+        storyNames(engineDescriptor.children[0]).findAll { it.startsWith("Story") } == ["Story: Scenario01", "Story: Scenario03"]
+        engineDescriptor.children[0].storyPaths.size() == 2
+
+        where:
+        reportLevel << ReportLevel.values()
+    }
+
+    def "Test stories of the selected scenarios are discovered"() {
+        when:
+        def engineDescriptor = discover([
+            selectUniqueId(MULTIPLE_STORIES_ID.append("story", "Story: Scenario01").append("scenario", "Scenario: login to system 2"))
+        ])
+
+        then:
+        storyNames(engineDescriptor.children[0]) == ["BeforeStories", "Story: Scenario01", "AfterStories"]
+        engineDescriptor.children[0].storyPaths.size() == 1
+    }
+
+    def "Test class selected also by a class selector discovers all stories"() {
+        when:
+        def engineDescriptor = discover([
+            selectUniqueId(MULTIPLE_STORIES_ID.append("story", "Story: Scenario03")),
+            selectClass(MultipleStories)
+        ])
+
+        then:
+        instantiated == [MultipleStories]
+        engineDescriptor.children[0].storyPaths.size() == 3
+    }
+
+    def "Test unique ids of other engines are not resolved"() {
+        when:
+        def engineDescriptor = discover([selectUniqueId(UniqueId.forEngine("junit-jupiter").append("class", MultipleStories.name))])
+
+        then:
+        engineDescriptor.children.empty
+        instantiated.empty
+    }
+
+    @Unroll
+    def "Test selected story is executed at #reportLevel report level"() {
+        given:
+        def storyId = MULTIPLE_STORIES_ID.append("story", storySegment(reportLevel, "Scenario03"))
+
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .configurationParameter(ReportLevel.REPORT_LEVEL_PROPERTY, reportLevel.name())
+            .selectors(selectUniqueId(storyId))
+            .execute()
+
+        then:
+        executionResults.testEvents().succeeded().count() == succeeded
+        executionResults.allEvents().failed().count() == 0
+        executionResults.allEvents().started().list().any { it.testDescriptor.uniqueId == storyId }
+
+        where:
+        reportLevel          | succeeded
+        ReportLevel.STEP     | 5
+        ReportLevel.SCENARIO | 1
+        ReportLevel.STORY    | 1
+    }
+
+    def "Test package selection honours the class name filter"() {
+        when:
+        discover([selectPackage(BasicStory.package.name)], { it.filters(excludeClassNamePatterns(".*Stories")) })
+
+        then:
+        !instantiated.empty
+        instantiated.every { !it.simpleName.endsWith("Stories") }
+    }
+
+    private TestDescriptor discover(List<DiscoverySelector> selectors, Closure configurer = {}) {
+        def builder = LauncherDiscoveryRequestBuilder.request().selectors(selectors)
+        configurer(builder)
+        def discoverer = new JBehaveDiscoverer({ testClass ->
+            instantiated << testClass
+            JBehaveSelectorResolver.instantiate(testClass)
+        }, { storyPath -> true })
+        discoverer.discover(builder.build(), ENGINE_ID)
+    }
+
+    private static String storySegment(ReportLevel reportLevel, String storyName) {
+        reportLevel == ReportLevel.STORY ? storyName + ".story" : "Story: " + storyName
+    }
+
+    private static List<String> storyNames(TestDescriptor classDescriptor) {
+        classDescriptor.children*.displayName.collect { it.replaceAll("[^\\w:. -]", "") }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.discovery.StepUsageIndex
+import org.jbehavesupport.engine.story.MultipleStories
+import org.jbehavesupport.engine.story.StepUsageStories
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class StepUsageIndexTest extends Specification {
+
+    def "Test index of step methods is written"() {
+        given:
+        def index = Files.createTempFile("jbehave-step-index", ".tsv")
+
+        when:
+        EngineTestKit.engine("jbehave")
+            .configurationParameter(StepUsageIndex.STEP_INDEX_PROPERTY, index.toString())
+            .selectors(selectClass(StepUsageStories))
+            .execute()
+        def lines = Files.readAllLines(index)
+
+        then:
+        lines.size() == 6
+        lines.every { it.startsWith("org.jbehavesupport.runner.story.steps.TestSteps#") }
+        lines.any {
+            it.startsWith("org.jbehavesupport.runner.story.steps.TestSteps#signInUser(java.lang.String)\t" +
+                "[engine:jbehave]/[class:org.jbehavesupport.engine.story.StepUsageStories]/[story:Story%3A StepUsage]/" +
+                "[scenario:Scenario%3A Sign in]/[step:When Sign in user Tester")
+        }
+        lines.any { it.startsWith("org.jbehavesupport.runner.story.steps.TestSteps#auditUser()\t") }
+        lines.any { it.startsWith("org.jbehavesupport.runner.story.steps.TestSteps#signUpWithAudit()\t") }
+
+        cleanup:
+        Files.deleteIfExists(index)
+    }
+
+    def "Test only scenarios using changed step methods are run"() {
+        when:
+        def executionResults = execute("org.jbehavesupport.runner.story.steps.TestSteps#auditUser")
+
+        then:
+        started(executionResults) == ["StepUsageStories", "Story: StepUsage", "Scenario: Sign up with audit",
+                                      "When Sign up with audit", "When Sign up user", "When Auditing user"]
+        executionResults.allEvents().failed().count() == 0
+    }
+
+    def "Test only stories using changed step classes are run"() {
+        when:
+        def executionResults = execute("org.jbehavesupport.runner.story.steps.LoginSteps, org.jbehavesupport.runner.story.steps.TestSteps#signInUser")
+
+        then:
+        started(executionResults).findAll { it.startsWith("Story:") || it.startsWith("Scenario:") } ==
+            ["Story: Scenario01-1", "Scenario: login to system 1", "Story: Scenario01", "Scenario: login to system 2",
+             "Story: Scenario03", "Scenario: login to system 3", "Story: StepUsage", "Scenario: Sign in"]
+        executionResults.allEvents().failed().count() == 0
+    }
+
+    def "Test nothing is run when no step method changed"() {
+        when:
+        def executionResults = execute("org.jbehavesupport.runner.story.steps.OtherSteps")
+
+        then:
+        started(executionResults).isEmpty()
+    }
+
+    private static execute(String changedSteps) {
+        EngineTestKit.engine("jbehave")
+            .configurationParameter(StepUsageIndex.CHANGED_STEPS_PROPERTY, changedSteps)
+            .configurationParameter(JBehaveTestEngine.COMPARATOR_PROPERTY, DisplayNameComparator.name)
+            .selectors(selectClass(MultipleStories), selectClass(StepUsageStories))
+            .execute()
+    }
+
+    private static List<String> started(executionResults) {
+        executionResults.allEvents().started().list()
+            .collect { it.testDescriptor }
+            .findAll { it.parent.present && !(it.displayName =~ /^(Before|After)Stories/) }
+            .collect { it.displayName.replaceAll("[^\\w.:/ -]", "") }
+    }
+}
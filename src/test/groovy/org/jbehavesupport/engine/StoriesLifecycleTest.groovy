@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.executor.IncrementalExecution
+import org.jbehavesupport.engine.executor.StoriesLifecycle
+import org.jbehavesupport.engine.story.BasicStory
+import org.jbehavesupport.engine.story.CommentStepStories
+import org.jbehavesupport.engine.story.ExamplesStories
+import org.jbehavesupport.engine.story.StoriesLifecycleStories
+import org.jbehavesupport.engine.story.StoriesLifecycleStory
+import org.jbehavesupport.runner.story.steps.StoriesLifecycleSteps
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+import spock.util.environment.RestoreSystemProperties
+
+import java.nio.file.Files
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+import static org.junit.platform.testkit.engine.EventConditions.container
+import static org.junit.platform.testkit.engine.EventConditions.engine
+import static org.junit.platform.testkit.engine.EventConditions.event
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully
+import static org.junit.platform.testkit.engine.EventConditions.skippedWithReason
+import static org.junit.platform.testkit.engine.EventConditions.started
+import static org.junit.platform.testkit.engine.EventConditions.test
+import static org.junit.platform.testkit.engine.EventConditions.uniqueIdSubstrings
+
+@RestoreSystemProperties
+class StoriesLifecycleTest extends Specification {
+
+    def setup() {
+        System.setProperty(StoriesLifecycle.STORIES_LIFECYCLE_PROPERTY, StoriesLifecycle.ENGINE.name())
+        System.setProperty(JBehaveTestEngine.COMPARATOR_PROPERTY, DisplayNameComparator.class.getName())
+    }
+
+    def "Test stories steps are executed once for classes with the same steps"() {
+        given:
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(BasicStory), selectClass(CommentStepStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.allEvents()
+            .assertEventsMatchExactly(
+                event(engine(), started()),
+                event(container(BasicStory), started()),
+                event(test(uniqueIdSubstrings(BasicStory.getName(), "BeforeStories")), started()),
+                event(test(uniqueIdSubstrings(BasicStory.getName(), "BeforeStories")), finishedSuccessfully()),
+                event(container("Story: basic_story"), started()),
+                event(container("Scenario: Very simple scenario"), started()),
+                event(test("Given say Hello"), started()),
+                event(test("Given say Hello"), finishedSuccessfully()),
+                event(container("Scenario: Very simple scenario"), finishedSuccessfully()),
+                event(container("Story: basic_story"), finishedSuccessfully()),
+                event(test(uniqueIdSubstrings(BasicStory.getName(), "AfterStories")), skippedWithReason("AfterStories executed once by CommentStepStories")),
+                event(container(BasicStory), finishedSuccessfully()),
+                event(container(CommentStepStories), started()),
+                event(test(uniqueIdSubstrings(CommentStepStories.getName(), "BeforeStories")), skippedWithReason("BeforeStories executed once by BasicStory")),
+                event(container("Story: CommentStep"), started()),
+                event(container("Scenario: Very simple scenario"), started()),
+                event(test("Given say Hello"), started()),
+                event(test("Given say Hello"), finishedSuccessfully()),
+                event(container("Scenario: Very simple scenario"), finishedSuccessfully()),
+                event(container("Story: CommentStep"), finishedSuccessfully()),
+                event(test(uniqueIdSubstrings(CommentStepStories.getName(), "AfterStories")), started()),
+                event(test(uniqueIdSubstrings(CommentStepStories.getName(), "AfterStories")), finishedSuccessfully()),
+                event(container(CommentStepStories), finishedSuccessfully()),
+                event(engine(), finishedSuccessfully())
+            )
+    }
+
+    def "Test stories steps are executed by each class with different steps"() {
+        given:
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(BasicStory), selectClass(ExamplesStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.testEvents().skipped().count() == 0
+        executionResults.testEvents().started().filter { it.testDescriptor.displayName.startsWith("BeforeStories") }.count() == 2
+        executionResults.testEvents().started().filter { it.testDescriptor.displayName.startsWith("AfterStories") }.count() == 2
+    }
+
+    def "Test stories steps are performed by the same steps instances across classes"() {
+        given:
+        StoriesLifecycleSteps.reset()
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(StoriesLifecycleStory), selectClass(StoriesLifecycleStories))
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.allEvents().failed().count() == 0
+        StoriesLifecycleSteps.started().size() == 1
+        StoriesLifecycleSteps.stopped().size() == 1
+        StoriesLifecycleSteps.stopped()[0].is(StoriesLifecycleSteps.started()[0])
+    }
+
+    def "Test stories steps are performed by a running class when the owning class is unchanged"() {
+        given:
+        def store = Files.createTempFile("jbehave-fingerprints", ".properties")
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .configurationParameter(IncrementalExecution.INCREMENTAL_PROPERTY, store.toString())
+            .selectors(selectClass(StoriesLifecycleStory), selectClass(StoriesLifecycleStories))
+        builder.execute()
+        def fingerprints = new Properties()
+        store.withReader { fingerprints.load(it) }
+        def changedKey = fingerprints.stringPropertyNames().find { it.contains(StoriesLifecycleStory.getName()) }
+        fingerprints.setProperty(changedKey, "changed")
+        store.withWriter { fingerprints.store(it, null) }
+        StoriesLifecycleSteps.reset()
+
+        when:
+        def executionResults = builder.execute()
+
+        then:
+        executionResults.allEvents().failed().count() == 0
+        executionResults.allEvents()
+            .assertThatEvents()
+            .haveExactly(1, event(test(uniqueIdSubstrings(StoriesLifecycleStories.getName(), "BeforeStories")),
+                skippedWithReason(IncrementalExecution.SKIP_REASON)))
+            .haveExactly(1, event(test(uniqueIdSubstrings(StoriesLifecycleStory.getName(), "BeforeStories")), finishedSuccessfully()))
+            .haveExactly(1, event(test(uniqueIdSubstrings(StoriesLifecycleStory.getName(), "AfterStories")), finishedSuccessfully()))
+        StoriesLifecycleSteps.started().size() == 1
+        StoriesLifecycleSteps.stopped().size() == 1
+        StoriesLifecycleSteps.stopped()[0].is(StoriesLifecycleSteps.started()[0])
+
+        cleanup:
+        Files.deleteIfExists(store)
+    }
+}
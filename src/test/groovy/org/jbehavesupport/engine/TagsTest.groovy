@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine
+
+import org.jbehavesupport.engine.discovery.JBehaveDiscoverer
+import org.jbehavesupport.engine.reporter.ReportLevel
+import org.jbehavesupport.engine.story.TaggedStories
+import org.junit.platform.engine.TestDescriptor
+import org.junit.platform.engine.UniqueId
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+import static org.junit.platform.launcher.TagFilter.excludeTags
+import static org.junit.platform.launcher.TagFilter.includeTags
+
+class TagsTest extends Specification {
+
+    def setup() {
+        TaggedStories.SUBMITTED_URLS.clear()
+    }
+
+    def "Test meta of stories and scenarios are tags inherited by their descendants"() {
+        when:
+        def classDescriptor = discover(ReportLevel.STEP).children[0]
+        def smoke = child(classDescriptor, "Story: Smoke")
+        def quickLogin = child(smoke, "Scenario: quick login")
+
+        then:
+        tagNames(smoke) == ["smoke"]
+        tagNames(quickLogin) == ["smoke", "priority=high"]
+        tagNames(child(quickLogin, "When I submit login data on http://quick")) == ["smoke", "priority=high"]
+        tagNames(child(smoke, "Scenario: slow login")) == ["smoke", "slow"]
+        tagNames(child(classDescriptor, "Story: Regression")) == ["regression"]
+        tagNames(child(classDescriptor, "BeforeStories")).empty
+    }
+
+    def "Test stories reported as tests get the tags of their scenarios"() {
+        when:
+        def classDescriptor = discover(ReportLevel.STORY).children[0]
+
+        then:
+        tagNames(child(classDescriptor, "Story: Smoke")) == ["smoke", "priority=high", "slow"]
+        tagNames(child(classDescriptor, "Story: Regression")) == ["regression"]
+    }
+
+    def "Test scenarios removed by the tag filter are not performed"() {
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .selectors(selectClass(TaggedStories))
+            .filters(includeTags("slow"))
+            .execute()
+
+        then:
+        executionResults.allEvents().failed().count() == 0
+        executionResults.testEvents().succeeded().list()*.testDescriptor*.displayName
+            .collect { it.replaceAll("[^\\w:./ -]", "") } == [
+            "When I submit login data on http://slow", "Then user should be logged in successful"]
+        TaggedStories.SUBMITTED_URLS == ["http://slow"]
+    }
+
+    def "Test stories removed by the tag filter are not performed"() {
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .selectors(selectClass(TaggedStories))
+            .filters(excludeTags("smoke"))
+            .execute()
+
+        then:
+        executionResults.allEvents().failed().count() == 0
+        executionResults.testEvents().succeeded().count() == 4
+        TaggedStories.SUBMITTED_URLS == ["http://full"]
+    }
+
+    def "Test all stories are performed without tag filter"() {
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .selectors(selectClass(TaggedStories))
+            .execute()
+
+        then:
+        executionResults.allEvents().failed().count() == 0
+        TaggedStories.SUBMITTED_URLS == ["http://full", "http://quick", "http://slow"]
+    }
+
+    private static TestDescriptor discover(ReportLevel reportLevel) {
+        def request = LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectClass(TaggedStories))
+            .configurationParameter(ReportLevel.REPORT_LEVEL_PROPERTY, reportLevel.name())
+            .build()
+        new JBehaveDiscoverer().discover(request, UniqueId.forEngine("jbehave"))
+    }
+
+    private static TestDescriptor child(TestDescriptor parent, String displayName) {
+        parent.children.find { it.displayName.replaceAll("[^\\w:./ -]", "") == displayName }
+    }
+
+    private static List<String> tagNames(TestDescriptor descriptor) {
+        descriptor.tags*.name
+    }
+}
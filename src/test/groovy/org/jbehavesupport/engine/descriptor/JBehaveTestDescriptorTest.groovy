@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.descriptor
+
+import org.junit.platform.engine.TestDescriptor
+import org.junit.platform.engine.TestTag
+import org.junit.platform.engine.UniqueId
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_CLASS
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_SCENARIO
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_STEP
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_STORY
+
+class JBehaveTestDescriptorTest extends Specification {
+
+    def classId = UniqueId.forEngine("jbehave").append(SEGMENT_TYPE_CLASS, "BasicStory")
+
+    def "Test unique id is derived from parent"() {
+        given:
+        def classDescriptor = new JBehaveTestDescriptor(classId, "BasicStory")
+        def story = new JBehaveTestDescriptor(classId.append(SEGMENT_TYPE_STORY, "Story: basic"), "Story: basic")
+        def scenario = new JBehaveTestDescriptor(SEGMENT_TYPE_SCENARIO, "Scenario: simple")
+        def step = new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, "Given say Hello")
+
+        when:
+        classDescriptor.addChild(story)
+        story.addChild(scenario)
+        scenario.addChild(step)
+
+        then:
+        step.uniqueId == classId.append(SEGMENT_TYPE_STORY, "Story: basic")
+            .append(SEGMENT_TYPE_SCENARIO, "Scenario: simple")
+            .append(SEGMENT_TYPE_STEP, "Given say Hello")
+        step.displayName.is(step.uniqueId.lastSegment.value)
+        step.type == TestDescriptor.Type.TEST
+        step.children.is(Collections.emptySet())
+        scenario.type == TestDescriptor.Type.CONTAINER
+        classDescriptor.findByUniqueId(step.uniqueId).get().is(step)
+        !classDescriptor.findByUniqueId(classId.append(SEGMENT_TYPE_STORY, "unknown")).present
+    }
+
+    def "Test descriptor without parent has no unique id"() {
+        when:
+        new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, "Given say Hello").uniqueId
+
+        then:
+        thrown(org.junit.platform.commons.PreconditionViolationException)
+    }
+
+    def "Test remove from hierarchy"() {
+        given:
+        def classDescriptor = new JBehaveTestDescriptor(classId, "BasicStory")
+        def scenario = new JBehaveTestDescriptor(SEGMENT_TYPE_SCENARIO, "Scenario: simple")
+        def step = new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, "Given say Hello")
+        classDescriptor.addChild(scenario)
+        scenario.addChild(step)
+
+        when:
+        scenario.removeFromHierarchy()
+
+        then:
+        classDescriptor.children.empty
+        !scenario.parent.present
+        !step.parent.present
+        scenario.children.empty
+    }
+
+    def "Test heap footprint of step level tree"() {
+        given:
+        def names = (0..<1000).collect { "Given step number " + it }
+
+        when:
+        long plain = retainedBytes { buildPlainTree(names) }
+        long compact = retainedBytes { buildCompactTree(names) }
+
+        then:
+        compact < plain / 2
+    }
+
+    def "Test unique id follows moved descriptor"() {
+        given:
+        def storyId = classId.append(SEGMENT_TYPE_STORY, "Story")
+        def story = new JBehaveTestDescriptor(storyId, "Story")
+        def otherStory = new JBehaveTestDescriptor(classId.append(SEGMENT_TYPE_STORY, "Other"), "Other")
+        def scenario = new JBehaveTestDescriptor(SEGMENT_TYPE_SCENARIO, "Scenario: A")
+        def step = new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, "Given a")
+        story.addChild(scenario)
+        scenario.addChild(step)
+
+        expect:
+        scenario.uniqueId.is(scenario.uniqueId)
+        step.uniqueId == storyId.append(SEGMENT_TYPE_SCENARIO, "Scenario: A").append(SEGMENT_TYPE_STEP, "Given a")
+
+        when:
+        story.removeChild(scenario)
+        otherStory.addChild(scenario)
+
+        then:
+        step.uniqueId == otherStory.uniqueId.append(SEGMENT_TYPE_SCENARIO, "Scenario: A").append(SEGMENT_TYPE_STEP, "Given a")
+    }
+
+    def "Test merged tags are cached until they change"() {
+        given:
+        def story = new JBehaveTestDescriptor(classId.append(SEGMENT_TYPE_STORY, "Story"), "Story")
+        def otherStory = new JBehaveTestDescriptor(classId.append(SEGMENT_TYPE_STORY, "Other"), "Other")
+        def scenario = new JBehaveTestDescriptor(SEGMENT_TYPE_SCENARIO, "Scenario: A")
+        def step = new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, "Given a")
+        story.addTag(TestTag.create("smoke"))
+        scenario.addTag(TestTag.create("fast"))
+        otherStory.addTag(TestTag.create("slow"))
+        story.addChild(scenario)
+        scenario.addChild(step)
+
+        expect:
+        step.tags == [TestTag.create("smoke"), TestTag.create("fast")] as Set
+        step.tags.is(step.tags)
+
+        when:
+        story.addTag(TestTag.create("priority=high"))
+
+        then:
+        step.tags == [TestTag.create("smoke"), TestTag.create("priority=high"), TestTag.create("fast")] as Set
+
+        when:
+        story.removeChild(scenario)
+        otherStory.addChild(scenario)
+
+        then:
+        step.tags == [TestTag.create("slow"), TestTag.create("fast")] as Set
+    }
+
+    private static long retainedBytes(Closure<?> closure) {
+        // warm up so class loading and code generation are not measured
+        closure()
+        long before = usedHeapAfterGc()
+        def tree = closure()
+        long after = usedHeapAfterGc()
+        assert tree != null
+        return after - before
+    }
+
+    private static long usedHeapAfterGc() {
+        def memoryMXBean = ManagementFactory.memoryMXBean
+        long used = Long.MAX_VALUE
+        for (int i = 0; i < 5; i++) {
+            System.gc()
+            used = Math.min(used, memoryMXBean.heapMemoryUsage.used)
+        }
+        used
+    }
+
+    private TestDescriptor buildCompactTree(List<String> names) {
+        def classDescriptor = new JBehaveTestDescriptor(classId, "BasicStory")
+        for (int story = 0; story < 10; story++) {
+            def storyDescriptor = new JBehaveTestDescriptor(classId.append(SEGMENT_TYPE_STORY, "Story " + story), "Story " + story)
+            classDescriptor.addChild(storyDescriptor)
+            for (int scenario = 0; scenario < 100; scenario++) {
+                def scenarioDescriptor = new JBehaveTestDescriptor(SEGMENT_TYPE_SCENARIO, names[scenario])
+                storyDescriptor.addChild(scenarioDescriptor)
+                for (int step = 0; step < 20; step++) {
+                    scenarioDescriptor.addChild(new JBehaveTestDescriptor(SEGMENT_TYPE_STEP, names[step]))
+                }
+            }
+        }
+        // the platform requests the ids and tags of all descriptors during the discovery
+        classDescriptor.accept { it.uniqueId; it.tags }
+        classDescriptor
+    }
+
+    private TestDescriptor buildPlainTree(List<String> names) {
+        def classDescriptor = new PlainDescriptor(classId, "BasicStory")
+        for (int story = 0; story < 10; story++) {
+            def storyDescriptor = new PlainDescriptor(classId.append(SEGMENT_TYPE_STORY, "Story " + story), "Story " + story)
+            classDescriptor.addChild(storyDescriptor)
+            for (int scenario = 0; scenario < 100; scenario++) {
+                def scenarioDescriptor = new PlainDescriptor(storyDescriptor.uniqueId.append(SEGMENT_TYPE_SCENARIO, names[scenario]), names[scenario])
+                storyDescriptor.addChild(scenarioDescriptor)
+                for (int step = 0; step < 20; step++) {
+                    scenarioDescriptor.addChild(new PlainDescriptor(scenarioDescriptor.uniqueId.append(SEGMENT_TYPE_STEP, names[step]), names[step]))
+                }
+            }
+        }
+        classDescriptor
+    }
+
+    /**
+     * Descriptor as it was built before, every node holds own unique id and children set.
+     */
+    static class PlainDescriptor extends AbstractTestDescriptor {
+
+        PlainDescriptor(UniqueId uniqueId, String displayName) {
+            super(uniqueId, displayName)
+        }
+
+        @Override
+        Type getType() {
+            children.empty ? Type.TEST : Type.CONTAINER
+        }
+    }
+
+}
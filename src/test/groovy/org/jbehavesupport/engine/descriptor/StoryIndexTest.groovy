@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.descriptor
+
+import org.jbehave.core.i18n.LocalizedKeywords
+import org.jbehave.core.io.LoadFromClasspath
+import org.jbehavesupport.engine.reporter.ReportLevel
+import org.jbehavesupport.engine.story.CompositeStepStories
+import org.jbehavesupport.engine.story.ExamplesStories
+import org.jbehavesupport.engine.story.GivenStories
+import org.jbehavesupport.engine.story.MultipleStories
+import org.junit.platform.engine.TestDescriptor
+import org.junit.platform.engine.UniqueId
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+import static org.jbehavesupport.engine.descriptor.JBehaveTestDescriptor.SEGMENT_TYPE_CLASS
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class StoryIndexTest extends Specification {
+
+    List<Path> indexes = []
+
+    def cleanup() {
+        indexes.each { Files.deleteIfExists(it) }
+    }
+
+    @Unroll
+    def "Test index of #testClass.simpleName at #reportLevel level has the parsed descriptors"() {
+        given:
+        def instance = testClass.newInstance()
+        def embedder = instance.configuredEmbedder()
+        def storyPaths = instance.storyPaths()
+        def parentId = UniqueId.forEngine("jbehave").append(SEGMENT_TYPE_CLASS, testClass.canonicalName)
+        writeIndex(testClass, reportLevel)
+
+        when:
+        def indexed = StoryIndex.load(testClass, embedder, storyPaths, reportLevel, parentId)
+
+        then:
+        indexed.present
+        tree(indexed.get().storyDescriptors) == tree(StoryParser.parse(embedder, storyPaths, reportLevel, parentId).storyDescriptors)
+
+        where:
+        testClass            | reportLevel
+        CompositeStepStories | ReportLevel.STEP
+        ExamplesStories      | ReportLevel.STEP
+        GivenStories         | ReportLevel.STEP
+        ExamplesStories      | ReportLevel.SCENARIO
+        ExamplesStories      | ReportLevel.STORY
+    }
+
+    def "Test out of date index is not used"() {
+        given:
+        def instance = new CompositeStepStories()
+        def parentId = UniqueId.forEngine("jbehave").append(SEGMENT_TYPE_CLASS, CompositeStepStories.canonicalName)
+        writeIndex(CompositeStepStories, ReportLevel.STEP)
+
+        expect:
+        !StoryIndex.load(CompositeStepStories, instance.configuredEmbedder(), instance.storyPaths(), ReportLevel.SCENARIO, parentId).present
+        !StoryIndex.load(CompositeStepStories, instance.configuredEmbedder(), [], ReportLevel.STEP, parentId).present
+        !StoryIndex.load(CompositeStepStories, new MultipleStories().configuredEmbedder(), instance.storyPaths(), ReportLevel.STEP, parentId).present
+        !StoryIndex.load(ExamplesStories, instance.configuredEmbedder(), instance.storyPaths(), ReportLevel.STEP, parentId).present
+    }
+
+    @Unroll
+    def "Test index is out of date when #change"() {
+        given:
+        def instance = new GivenStories()
+        def embedder = instance.configuredEmbedder()
+        def parentId = UniqueId.forEngine("jbehave").append(SEGMENT_TYPE_CLASS, GivenStories.canonicalName)
+        writeIndex(GivenStories, ReportLevel.STEP)
+
+        when:
+        configurer(embedder)
+
+        then:
+        !StoryIndex.load(GivenStories, embedder, instance.storyPaths(), ReportLevel.STEP, parentId).present
+
+        where:
+        change                       | configurer
+        "the meta filters change"    | { it.useMetaFilters(["-skip"]) }
+        "the keywords change"        | { it.configuration().useKeywords(new LocalizedKeywords(Locale.GERMAN)) }
+        "the story controls change"  | { it.configuration().storyControls().doIgnoreMetaFiltersIfGivenStory(true) }
+        "a given story changes"      | { it.configuration().useStoryLoader(new LoadFromClasspath() {
+            @Override
+            String loadStoryAsText(String storyPath) {
+                def text = super.loadStoryAsText(storyPath)
+                storyPath.endsWith("GivenStory1.story") ? text + "\n" : text
+            }
+        }) }
+    }
+
+    def "Test engine discovers the stories from the index"() {
+        given:
+        writeIndex(CompositeStepStories, ReportLevel.STEP)
+
+        when:
+        def executionResults = EngineTestKit.engine("jbehave")
+            .selectors(selectClass(CompositeStepStories))
+            .execute()
+
+        then:
+        executionResults.testEvents().succeeded().count() == 4
+        executionResults.allEvents().failed().count() == 0
+    }
+
+    private void writeIndex(Class testClass, ReportLevel reportLevel) {
+        def classpathRoot = Paths.get(testClass.protectionDomain.codeSource.location.toURI())
+        indexes << StoryIndex.write(testClass, reportLevel, classpathRoot)
+    }
+
+    private static List tree(Collection<? extends TestDescriptor> descriptors) {
+        descriptors.collect {
+            [it.uniqueId, it.displayName, it.type, it.storyPath, it.stepMethod, tree(it.children)]
+        }
+    }
+}
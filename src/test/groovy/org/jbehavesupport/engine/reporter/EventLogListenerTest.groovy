@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.reporter
+
+import groovy.json.JsonSlurper
+import org.jbehavesupport.engine.story.BasicStory
+import org.junit.platform.testkit.engine.EngineTestKit
+import spock.lang.Specification
+import spock.util.environment.RestoreSystemProperties
+
+import java.nio.file.Files
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
+
+class EventLogListenerTest extends Specification {
+
+    @RestoreSystemProperties
+    def "Test event log lines"() {
+        given:
+        def eventLog = Files.createTempFile("jbehave-events", ".ndjson")
+        System.setProperty(EventLogListener.EVENT_LOG_PROPERTY, eventLog.toString())
+        EngineTestKit.Builder builder = EngineTestKit.engine("jbehave")
+            .enableImplicitConfigurationParameters(true)
+            .selectors(selectClass(BasicStory))
+
+        when:
+        builder.execute()
+        def events = Files.readAllLines(eventLog).collect { new JsonSlurper().parseText(it) }
+
+        then:
+        events.size() == 14
+        events.collect { it.event + " " + it.name } == [
+            "started JBehave",
+            "started BasicStory",
+            "started BeforeStories",
+            "finished BeforeStories",
+            "started Story: basic_story",
+            "started Scenario: Very simple scenario",
+            "started Given say Hello",
+            "finished Given say Hello",
+            "finished Scenario: Very simple scenario",
+            "finished Story: basic_story",
+            "started AfterStories",
+            "finished AfterStories",
+            "finished BasicStory",
+            "finished JBehave"
+        ]
+        events.findAll { it.event == "finished" }.every { it.status == "SUCCESSFUL" && it.duration >= 0 }
+        events.find { it.name == "Given say Hello" }.type == "step"
+        events.every { it.thread }
+
+        cleanup:
+        Files.deleteIfExists(eventLog)
+    }
+
+}
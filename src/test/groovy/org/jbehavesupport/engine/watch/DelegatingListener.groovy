@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.watch
+
+import org.junit.platform.engine.EngineExecutionListener
+import org.junit.platform.engine.TestDescriptor
+import org.junit.platform.engine.TestExecutionResult
+
+class DelegatingListener implements EngineExecutionListener {
+
+    EngineExecutionListener delegate
+
+    @Override
+    void dynamicTestRegistered(TestDescriptor testDescriptor) {
+        delegate.dynamicTestRegistered(testDescriptor)
+    }
+
+    @Override
+    void executionSkipped(TestDescriptor testDescriptor, String reason) {
+        delegate.executionSkipped(testDescriptor, reason)
+    }
+
+    @Override
+    void executionStarted(TestDescriptor testDescriptor) {
+        delegate.executionStarted(testDescriptor)
+    }
+
+    @Override
+    void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+        delegate.executionFinished(testDescriptor, testExecutionResult)
+    }
+}
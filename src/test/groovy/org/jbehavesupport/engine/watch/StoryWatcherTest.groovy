@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.watch
+
+import org.jbehavesupport.engine.story.BasicStory
+import org.jbehavesupport.engine.story.MultipleStories
+import org.junit.platform.testkit.engine.ExecutionRecorder
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class StoryWatcherTest extends Specification {
+
+    def "Test only changed stories are run again"() {
+        given:
+        def firstRun = new ExecutionRecorder()
+        def secondRun = new ExecutionRecorder()
+        def listener = new DelegatingListener(delegate: firstRun)
+        def storyWatcher = new StoryWatcher([MultipleStories, BasicStory], [:], listener)
+
+        when:
+        storyWatcher.runAll()
+        listener.delegate = secondRun
+        storyWatcher.run(["org/jbehavesupport/runner/story/multipleScenario/Scenario03.story", "org/unknown.story"])
+
+        then:
+        storyNames(firstRun) as Set == ["Story: Scenario01-1", "Story: Scenario01", "Story: Scenario03", "Story: basic_story"] as Set
+        storyNames(secondRun) == ["Story: Scenario03"]
+        secondRun.executionResults.containerEvents().started().list()*.testDescriptor*.displayName.findAll { it != "JBehave" } ==
+            ["MultipleStories", "Story: Scenario03", "Scenario: login to system 3"]
+        secondRun.executionResults.allEvents().failed().count() == 0
+    }
+
+    def "Test changed files are collected relative to the watched directory"() {
+        given:
+        def directory = Files.createTempDirectory("jbehave-watch")
+        def storyDirectory = Files.createDirectories(directory.resolve("org/application"))
+        def storyWatcher = new StoryWatcher([BasicStory], [:], new ExecutionRecorder())
+        storyWatcher.register([directory])
+
+        when:
+        storyDirectory.resolve("Changed.story").text = "Scenario: changed"
+        def changes = storyWatcher.awaitChanges()
+
+        then:
+        changes == ["org/application/Changed.story"] as Set
+
+        cleanup:
+        storyWatcher.close()
+        directory.toFile().deleteDir()
+    }
+
+    private static List<String> storyNames(ExecutionRecorder recorder) {
+        recorder.executionResults.containerEvents().started().list()
+            *.testDescriptor
+            .findAll { it.uniqueId.lastSegment.type == "story" }
+            *.displayName
+            *.replaceAll("[^\\w:. -]", "")
+    }
+}
@@ -145,4 +145,52 @@ class ExamplesStoriesTest extends Specification {
         children[0].displayName =~ /Story: Examples.*/
         children[0].children.size() == 0
     }
+
+    @RestoreSystemProperties
+    def "Test correct notifications for scenario level reporter"() {
+        given:
+        System.setProperty("jbehave.report.level", "SCENARIO")
+        def runner = new JUnitRunner(ExamplesStories)
+
+        when:
+        runner.run(notifier)
+
+        then:
+        1 * notifier.fireTestStarted({it.displayName.equals("Story: Examples")} as Description)
+        then:
+        1 * notifier.fireTestStarted({it.displayName.equals("Scenario: login to system")} as Description)
+        then:
+        1 * notifier.fireTestStarted({it.displayName.contains("Example: {url=http://examplescom/login, status=OK}")} as Description)
+        then:
+        1 * notifier.fireTestFinished({it.displayName.contains("Example: {url=http://examplescom/login, status=OK}")} as Description)
+        then:
+        1 * notifier.fireTestStarted({it.displayName.contains("Example: {url=http://examplescom/logout, status=NOK}")} as Description)
+        then:
+        1 * notifier.fireTestFinished({it.displayName.contains("Example: {url=http://examplescom/logout, status=NOK}")} as Description)
+        then:
+        1 * notifier.fireTestFinished({it.displayName.equals("Scenario: login to system")} as Description)
+        then:
+        1 * notifier.fireTestFinished({it.displayName.equals("Story: Examples")} as Description)
+        0 * notifier.fireTestFailure(_)
+    }
+
+    @RestoreSystemProperties
+    def "Test descriptions for scenario level reporter"() {
+        given:
+        System.setProperty("jbehave.report.level", "SCENARIO")
+        def runner = new JUnitRunner(ExamplesStories)
+
+        when:
+        def desc = runner.description
+        def children = desc.children
+
+        then:
+        desc.testClass == ExamplesStories
+        children.size() == 1
+        children[0].displayName == "Story: Examples"
+        children[0].children[0].displayName == "Scenario: login to system"
+        children[0].children[0].children.size() == 2
+        children[0].children[0].children.every { it.test }
+    }
+
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner
+
+import org.jbehavesupport.runner.story.GivenStoryBeforeScenarioStories
+import org.jbehavesupport.runner.story.MultipleScenarioStories
+import org.junit.runner.Description
+import org.junit.runner.manipulation.Filter
+import org.junit.runner.manipulation.NoTestsRemainException
+import org.junit.runner.manipulation.Sorter
+import org.junit.runner.notification.RunListener
+import org.junit.runner.notification.RunNotifier
+import spock.lang.Specification
+import spock.util.environment.RestoreSystemProperties
+
+class FilterStoriesTest extends Specification {
+
+    def "Test filter selects single scenario"() {
+        given:
+        def runner = new JUnitRunner(MultipleScenarioStories)
+        def secondScenario = runner.description.children[1].children[1]
+        def step = secondScenario.children[0]
+
+        when:
+        runner.filter(Filter.matchMethodDescription(step))
+        def started = run(runner)
+
+        then:
+        runner.description.children*.displayName == ["BeforeStories(org.jbehave.core.model.Story)", "Story: multiple_scenarios", "AfterStories(org.jbehave.core.model.Story)"]
+        runner.description.children[1].children*.displayName == ["Scenario: second scenario"]
+        started.findAll { it.startsWith("Scenario:") } == ["Scenario: second scenario"]
+        started.findAll { it.startsWith("Story:") } == ["Story: multiple_scenarios"]
+        started.contains(step.displayName)
+    }
+
+    @RestoreSystemProperties
+    def "Test filter on scenario level"() {
+        given:
+        System.setProperty("jbehave.report.level", "SCENARIO")
+        def runner = new JUnitRunner(MultipleScenarioStories)
+        def firstScenario = runner.description.children[0].children[0]
+        def basicScenario = runner.description.children[1].children[0]
+
+        when:
+        runner.filter(new Filter() {
+            @Override
+            boolean shouldRun(Description description) {
+                description.suite || description == firstScenario || description == basicScenario
+            }
+
+            @Override
+            String describe() {
+                "first and basic scenario"
+            }
+        })
+        def started = run(runner)
+
+        then:
+        // stories are executed ordered by path
+        started == ["Story: basic_story", "Scenario: Very simple scenario(org.jbehave.core.model.Scenario)",
+                    "Story: multiple_scenarios", "Scenario: first scenario(org.jbehave.core.model.Scenario)"]
+    }
+
+    def "Test filter keeps given stories of story"() {
+        given:
+        def runner = new JUnitRunner(GivenStoryBeforeScenarioStories)
+        def story = runner.description.children[1]
+        def scenario = story.children.find { it.displayName.startsWith("Scenario:") }
+
+        when:
+        runner.filter(new Filter() {
+            @Override
+            boolean shouldRun(Description description) {
+                description != scenario
+            }
+
+            @Override
+            String describe() {
+                "all but the scenario"
+            }
+        })
+        def started = run(runner)
+
+        then:
+        runner.description.children[1].children*.displayName == story.children*.displayName - scenario.displayName
+        !started.any { it.startsWith("Then User with name Tester") }
+    }
+
+    def "Test filter without match"() {
+        given:
+        def runner = new JUnitRunner(MultipleScenarioStories)
+
+        when:
+        runner.filter(Filter.matchMethodDescription(Description.createTestDescription(MultipleScenarioStories, "unknown")))
+
+        then:
+        thrown(NoTestsRemainException)
+    }
+
+    @RestoreSystemProperties
+    def "Test sort stories"() {
+        given:
+        System.setProperty("jbehave.report.level", "STORY")
+        def runner = new JUnitRunner(MultipleScenarioStories)
+
+        when:
+        runner.sort(new Sorter({ a, b -> b.displayName <=> a.displayName } as Comparator<Description>))
+        def started = run(runner)
+
+        then:
+        runner.description.children*.displayName == ["Story: multiple_scenarios(org.jbehave.core.model.Story)", "Story: basic_story(org.jbehave.core.model.Story)"]
+        started == ["Story: multiple_scenarios(org.jbehave.core.model.Story)", "Story: basic_story(org.jbehave.core.model.Story)"]
+    }
+
+    private static List<String> run(JUnitRunner runner) {
+        def started = []
+        def notifier = new RunNotifier()
+        notifier.addListener(new RunListener() {
+            @Override
+            void testStarted(Description description) {
+                started << description.displayName
+            }
+        })
+        runner.run(notifier)
+        started
+    }
+}
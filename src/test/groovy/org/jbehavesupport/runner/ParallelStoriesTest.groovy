@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner
+
+import org.jbehavesupport.core.StoryExecutors
+import org.jbehavesupport.runner.story.MultipleStories
+import org.jbehavesupport.runner.story.ResourceLockStories
+import org.jbehavesupport.runner.story.steps.ResourceLockSteps
+import org.junit.runner.Description
+import org.junit.runner.notification.Failure
+import org.junit.runner.notification.RunListener
+import org.junit.runner.notification.RunNotifier
+import org.junit.runners.model.RunnerScheduler
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.util.environment.RestoreSystemProperties
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ParallelStoriesTest extends Specification {
+
+    @RestoreSystemProperties
+    def "Test parallel run with thread count property"() {
+        given:
+        def sequential = run(new JUnitRunner(MultipleStories))
+        System.setProperty(JUnitRunner.THREADS_PROPERTY, "3")
+
+        when:
+        def parallel = run(new JUnitRunner(MultipleStories))
+
+        then:
+        parallel.events.sort() == sequential.events.sort()
+        parallel.failures.empty
+        parallel.threads.size() > 1
+    }
+
+    def "Test parallel run with runner scheduler"() {
+        given:
+        def sequential = run(new JUnitRunner(MultipleStories))
+        def scheduler = new PoolScheduler()
+        def runner = new JUnitRunner(MultipleStories)
+        runner.setScheduler(scheduler)
+
+        when:
+        def parallel = run(runner)
+
+        then:
+        scheduler.scheduled == 3
+        scheduler.pool.terminated
+        parallel.events.sort() == sequential.events.sort()
+        parallel.failures.empty
+    }
+
+    @RestoreSystemProperties
+    def "Test stories locking the same resource are not run together"() {
+        given:
+        System.setProperty(JUnitRunner.THREADS_PROPERTY, "3")
+
+        when:
+        def parallel = run(new JUnitRunner(ResourceLockStories))
+
+        then:
+        parallel.failures.empty
+        parallel.threads.size() > 1
+        ResourceLockSteps.maxUsers("account") == 1
+    }
+
+    @RestoreSystemProperties
+    @Requires({ StoryExecutors.supportsVirtualThreads() })
+    def "Test parallel run on virtual threads"() {
+        given:
+        def sequential = run(new JUnitRunner(MultipleStories))
+        System.setProperty(StoryExecutors.VIRTUAL_THREADS_PROPERTY, "true")
+
+        when:
+        def parallel = run(new JUnitRunner(MultipleStories))
+
+        then:
+        parallel.events.sort() == sequential.events.sort()
+        parallel.failures.empty
+        parallel.threads.any { it.startsWith("jbehave-story-") }
+    }
+
+    private static CollectingListener run(JUnitRunner runner) {
+        def notifier = new RunNotifier()
+        def listener = new CollectingListener()
+        notifier.addListener(listener)
+        runner.run(notifier)
+        listener
+    }
+
+    @RunListener.ThreadSafe
+    static class CollectingListener extends RunListener {
+
+        List<String> events = Collections.synchronizedList([])
+        List<Failure> failures = Collections.synchronizedList([])
+        Set<String> threads = Collections.synchronizedSet(new HashSet<String>())
+
+        @Override
+        void testStarted(Description description) {
+            events << "started " + description.displayName
+            threads << Thread.currentThread().name
+        }
+
+        @Override
+        void testFinished(Description description) {
+            events << "finished " + description.displayName
+        }
+
+        @Override
+        void testFailure(Failure failure) {
+            failures << failure
+        }
+    }
+
+    static class PoolScheduler implements RunnerScheduler {
+
+        ExecutorService pool = Executors.newFixedThreadPool(2)
+        int scheduled
+
+        @Override
+        synchronized void schedule(Runnable childStatement) {
+            scheduled++
+            pool.submit(childStatement)
+        }
+
+        @Override
+        void finished() {
+            pool.shutdown()
+            pool.awaitTermination(1, TimeUnit.MINUTES)
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.story;
+
+import org.jbehave.core.configuration.Configuration;
+import org.jbehave.core.io.LoadFromClasspath;
+import org.jbehavesupport.runner.story.steps.LoginSteps;
+import org.jbehavesupport.runner.story.steps.TestSteps;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class LoadCountingStories extends AbstractStories {
+
+    public static final List<String> LOADED_STORIES = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Configuration configuration() {
+        return super.configuration()
+            .useStoryLoader(new LoadFromClasspath() {
+                @Override
+                public String loadStoryAsText(String storyPath) {
+                    LOADED_STORIES.add(storyPath);
+                    return super.loadStoryAsText(storyPath);
+                }
+            });
+    }
+
+    @Override
+    public List<String> storyPaths() {
+        return Arrays.asList(
+            "org/jbehavesupport/runner/story/multipleScenario/Scenario01.story",
+            "org/jbehavesupport/runner/story/GivenStory.story"
+        );
+    }
+
+    @Override
+    protected List<?> getStepClasses() {
+        return Arrays.asList(new LoginSteps(), new TestSteps());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.engine.story;
+
+import org.jbehave.core.annotations.Then;
+import org.jbehave.core.annotations.When;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class TaggedStories extends AbstractStories {
+
+    public static final List<String> SUBMITTED_URLS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public List<String> storyPaths() {
+        return Arrays.asList(
+            "org/jbehavesupport/runner/story/tags/Smoke.story",
+            "org/jbehavesupport/runner/story/tags/Regression.story"
+        );
+    }
+
+    @Override
+    protected List<?> getStepClasses() {
+        return Collections.singletonList(new TaggedSteps());
+    }
+
+    public static class TaggedSteps {
+
+        @When("I submit login data on $url")
+        public void submitLogin(String url) {
+            SUBMITTED_URLS.add(url);
+        }
+
+        @Then("user should be logged in $status")
+        public void verifyLogin(String status) {
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner.story.steps;
+
+import org.jbehave.core.annotations.When;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResourceLockSteps {
+
+    private static final Map<String, AtomicInteger> USERS = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> MAX_USERS = new ConcurrentHashMap<>();
+
+    public static int maxUsers(String resource) {
+        return MAX_USERS.getOrDefault(resource, 0);
+    }
+
+    @When("resource $resource is used")
+    public void useResource(String resource) throws InterruptedException {
+        int users = USERS.computeIfAbsent(resource, name -> new AtomicInteger()).incrementAndGet();
+        MAX_USERS.merge(resource, users, Math::max);
+        Thread.sleep(100);
+        USERS.get(resource).decrementAndGet();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbehavesupport.runner.story.steps;
+
+import org.jbehave.core.annotations.AfterStories;
+import org.jbehave.core.annotations.BeforeStories;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the instances performing the stories steps.
+ */
+public class StoriesLifecycleSteps {
+
+    private static final List<StoriesLifecycleSteps> STARTED = new CopyOnWriteArrayList<>();
+    private static final List<StoriesLifecycleSteps> STOPPED = new CopyOnWriteArrayList<>();
+
+    public static List<StoriesLifecycleSteps> started() {
+        return STARTED;
+    }
+
+    public static List<StoriesLifecycleSteps> stopped() {
+        return STOPPED;
+    }
+
+    public static void reset() {
+        STARTED.clear();
+        STOPPED.clear();
+    }
+
+    @BeforeStories
+    public void start() {
+        STARTED.add(this);
+    }
+
+    @AfterStories
+    public void stop() {
+        STOPPED.add(this);
+    }
+}